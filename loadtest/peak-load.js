@@ -0,0 +1,40 @@
+import http from 'k6/http';
+import { check } from 'k6';
+
+// Usage: k6 run -e TOKEN=<access token> -e EVENT_ID=<event id> loadtest/peak-load.js
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const TOKEN = __ENV.TOKEN;
+const EVENT_ID = __ENV.EVENT_ID;
+const PEAK_RATE = Number(__ENV.PEAK_RATE || 1500);
+
+export const options = {
+    scenarios: {
+        peak: {
+            executor: 'ramping-arrival-rate',
+            startRate: 50,
+            timeUnit: '1s',
+            preAllocatedVUs: 200,
+            maxVUs: 3000,
+            stages: [
+                { target: PEAK_RATE / 3, duration: '1m' },
+                { target: PEAK_RATE, duration: '2m' },
+                { target: 0, duration: '30s' },
+            ],
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+        http_req_duration: ['p(95)<300'],
+    },
+};
+
+export default function () {
+    const params = { headers: { Authorization: `Bearer ${TOKEN}` } };
+    const responses = http.batch([
+        ['GET', `${BASE_URL}/events?registrationOpen=true&size=20`, null, params],
+        ['GET', `${BASE_URL}/events/${EVENT_ID}`, null, params],
+        ['GET', `${BASE_URL}/profile`, null, params],
+    ]);
+
+    responses.forEach((response) => check(response, { 'status is 200': (r) => r.status === 200 }));
+}
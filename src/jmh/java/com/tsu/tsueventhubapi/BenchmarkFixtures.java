@@ -0,0 +1,70 @@
+package com.tsu.tsueventhubapi;
+
+import com.tsu.tsueventhubapi.dto.EventResponseSummary;
+import com.tsu.tsueventhubapi.enumeration.Role;
+import com.tsu.tsueventhubapi.enumeration.Status;
+import com.tsu.tsueventhubapi.model.Company;
+import com.tsu.tsueventhubapi.model.Event;
+import com.tsu.tsueventhubapi.model.User;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+public final class BenchmarkFixtures {
+
+    public static final Instant START = Instant.parse("2025-09-01T09:00:00Z");
+
+    private BenchmarkFixtures() {
+    }
+
+    public static Company company() {
+        return Company.builder()
+                .id(UUID.randomUUID())
+                .name("Company")
+                .build();
+    }
+
+    public static User user(Role role, Company company) {
+        return User.builder()
+                .id(UUID.randomUUID())
+                .name("User")
+                .email("user@example.com")
+                .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z6Ju1EhpVd2xT1h6BzXxjF8y")
+                .role(role)
+                .status(Status.APPROVED)
+                .telegramUsername(role == Role.DEAN ? null : "@user_name")
+                .company(company)
+                .build();
+    }
+
+    public static Event event(Company company, User manager) {
+        return Event.builder()
+                .id(UUID.randomUUID())
+                .title("Career fair")
+                .description("Meet employers of the region and discuss internships and graduate positions.")
+                .startTime(START)
+                .endTime(START.plus(3, ChronoUnit.HOURS))
+                .location("Main building, room 101")
+                .registrationDeadline(START.minus(1, ChronoUnit.DAYS))
+                .manager(manager)
+                .company(company)
+                .build();
+    }
+
+    public static List<EventResponseSummary> eventSummaries(int count) {
+        Company company = company();
+        return IntStream.range(0, count)
+                .mapToObj(i -> new EventResponseSummary(
+                        UUID.randomUUID(),
+                        "Event " + i,
+                        START.plus(i, ChronoUnit.HOURS),
+                        "Room " + i,
+                        i,
+                        company.getId(),
+                        company.getName()))
+                .toList();
+    }
+}
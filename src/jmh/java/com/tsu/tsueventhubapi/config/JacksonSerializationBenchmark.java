@@ -0,0 +1,42 @@
+package com.tsu.tsueventhubapi.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tsu.tsueventhubapi.BenchmarkFixtures;
+import com.tsu.tsueventhubapi.dto.EventResponseSummary;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JacksonSerializationBenchmark {
+
+    @Param({"10", "50"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private Page<EventResponseSummary> page;
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        new JacksonConfig().jsonCustomizer().customize(builder);
+        objectMapper = builder.build();
+
+        page = new PageImpl<>(BenchmarkFixtures.eventSummaries(size), PageRequest.of(3, size), 10_000);
+    }
+
+    @Benchmark
+    public byte[] serializeEventPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,36 @@
+package com.tsu.tsueventhubapi.dto;
+
+import com.tsu.tsueventhubapi.BenchmarkFixtures;
+import com.tsu.tsueventhubapi.enumeration.Role;
+import com.tsu.tsueventhubapi.model.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserResponseBenchmark {
+
+    private User student;
+    private User manager;
+
+    @Setup
+    public void setUp() {
+        student = BenchmarkFixtures.user(Role.STUDENT, null);
+        manager = BenchmarkFixtures.user(Role.MANAGER, BenchmarkFixtures.company());
+    }
+
+    @Benchmark
+    public UserResponse studentFromEntity() {
+        return UserResponse.fromEntity(student);
+    }
+
+    @Benchmark
+    public UserResponse managerFromEntity() {
+        return UserResponse.fromEntity(manager);
+    }
+}
@@ -0,0 +1,79 @@
+package com.tsu.tsueventhubapi.security;
+
+import com.tsu.tsueventhubapi.BenchmarkFixtures;
+import com.tsu.tsueventhubapi.enumeration.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtTokenProviderBenchmark {
+
+    static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-benchmark-secret";
+
+    private JwtTokenProvider uncachedProvider;
+    private JwtTokenProvider cachedProvider;
+    private UserDetailsImpl userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        uncachedProvider = provider(Duration.ZERO);
+        cachedProvider = provider(Duration.ofSeconds(30));
+
+        userDetails = UserDetailsImpl.fromUser(BenchmarkFixtures.user(Role.STUDENT, null));
+        token = uncachedProvider.generateToken(userDetails, 0);
+    }
+
+    static JwtTokenProvider provider(Duration verifiedTokenCacheTtl) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpirationMs", 3_600_000L);
+        ReflectionTestUtils.setField(provider, "jwtRefreshExpirationMs", 86_400_000L);
+        ReflectionTestUtils.setField(provider, "verifiedTokenCacheTtl", verifiedTokenCacheTtl);
+        ReflectionTestUtils.setField(provider, "verifiedTokenCacheMaximumSize", 10_000L);
+        provider.init();
+        return provider;
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return uncachedProvider.generateToken(userDetails, 0);
+    }
+
+    @Benchmark
+    public String legacyValidateThenReadSubject() {
+        // Request path before the parser was shared: the key and parser were rebuilt and the token verified twice
+        Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseClaimsJws(token);
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody()
+                .getSubject();
+    }
+
+    @Benchmark
+    public Claims parseOnce() {
+        return uncachedProvider.parseVerifiedClaims(token).orElseThrow();
+    }
+
+    @Benchmark
+    public Claims parseOnceCached() {
+        return cachedProvider.parseVerifiedClaims(token).orElseThrow();
+    }
+}
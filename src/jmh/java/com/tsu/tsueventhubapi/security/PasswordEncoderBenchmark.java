@@ -0,0 +1,57 @@
+package com.tsu.tsueventhubapi.security;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded throughput of a login's password check, i.e. logins per second per core for each BCrypt strength.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class PasswordEncoderBenchmark {
+
+    static final String PASSWORD = "benchmark-password-123";
+
+    @Param({"8", "10", "12"})
+    public int strength;
+
+    private PasswordEncoder encoder;
+    private String encoded;
+    private String legacyEncoded;
+
+    @Setup
+    public void setUp() {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        encoder = delegating;
+
+        encoded = encoder.encode(PASSWORD);
+        legacyEncoded = bcrypt.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean login() {
+        return encoder.matches(PASSWORD, encoded);
+    }
+
+    @Benchmark
+    public boolean loginWithLegacyHash() {
+        return encoder.matches(PASSWORD, legacyEncoded);
+    }
+
+    @Benchmark
+    public String register() {
+        return encoder.encode(PASSWORD);
+    }
+}
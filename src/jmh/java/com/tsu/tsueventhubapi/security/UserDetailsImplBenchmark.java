@@ -0,0 +1,43 @@
+package com.tsu.tsueventhubapi.security;
+
+import com.tsu.tsueventhubapi.BenchmarkFixtures;
+import com.tsu.tsueventhubapi.enumeration.Role;
+import com.tsu.tsueventhubapi.model.Company;
+import com.tsu.tsueventhubapi.model.User;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserDetailsImplBenchmark {
+
+    private User manager;
+    private Claims claims;
+
+    @Setup
+    public void setUp() {
+        Company company = BenchmarkFixtures.company();
+        manager = BenchmarkFixtures.user(Role.MANAGER, company);
+
+        JwtTokenProvider provider = JwtTokenProviderBenchmark.provider(Duration.ZERO);
+        String token = provider.generateToken(UserDetailsImpl.fromUser(manager), 0);
+        claims = provider.parseVerifiedClaims(token).orElseThrow();
+    }
+
+    @Benchmark
+    public UserDetailsImpl fromUser() {
+        return UserDetailsImpl.fromUser(manager);
+    }
+
+    @Benchmark
+    public UserDetailsImpl fromClaims() {
+        return UserDetailsImpl.fromClaims(claims);
+    }
+}
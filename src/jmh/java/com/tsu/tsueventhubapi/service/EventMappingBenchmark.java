@@ -0,0 +1,38 @@
+package com.tsu.tsueventhubapi.service;
+
+import com.tsu.tsueventhubapi.BenchmarkFixtures;
+import com.tsu.tsueventhubapi.dto.EventResponseFull;
+import com.tsu.tsueventhubapi.dto.EventResponseSummary;
+import com.tsu.tsueventhubapi.enumeration.Role;
+import com.tsu.tsueventhubapi.model.Company;
+import com.tsu.tsueventhubapi.model.Event;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventMappingBenchmark {
+
+    private Event event;
+
+    @Setup
+    public void setUp() {
+        Company company = BenchmarkFixtures.company();
+        event = BenchmarkFixtures.event(company, BenchmarkFixtures.user(Role.MANAGER, company));
+    }
+
+    @Benchmark
+    public EventResponseFull toFullResponse() {
+        return EventService.toFullResponse(event);
+    }
+
+    @Benchmark
+    public EventResponseSummary toSummaryResponse() {
+        return EventService.toSummaryResponse(event);
+    }
+}
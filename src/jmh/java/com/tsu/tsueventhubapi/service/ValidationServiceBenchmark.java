@@ -0,0 +1,35 @@
+package com.tsu.tsueventhubapi.service;
+
+import com.tsu.tsueventhubapi.enumeration.Role;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationServiceBenchmark {
+
+    @Param({"@user_name", "@a_very_long_telegram_username_with_sixty_four_characters_in_it_"})
+    private String telegramUsername;
+
+    private final ValidationService validationService = new ValidationService();
+
+    @Benchmark
+    public void validManagerTelegram() {
+        validationService.validateProfileUpdate(Role.MANAGER, telegramUsername);
+    }
+
+    @Benchmark
+    public void invalidStudentTelegram(Blackhole blackhole) {
+        try {
+            validationService.validateProfileUpdate(Role.STUDENT, telegramUsername.substring(1));
+        } catch (IllegalArgumentException e) {
+            blackhole.consume(e);
+        }
+    }
+}
@@ -2,8 +2,10 @@ package com.tsu.tsueventhubapi;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class TsuEventhubApiApplication {
 
     public static void main(String[] args) {
@@ -7,19 +7,19 @@ import com.tsu.tsueventhubapi.repository.UserRepository;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
 public class DataInitializer {
 
     @Bean
-    public CommandLineRunner initAdmin(UserRepository userRepository) {
+    public CommandLineRunner initAdmin(UserRepository userRepository, PasswordEncoder passwordEncoder) {
         return args -> {
             if (userRepository.findByEmail("dean_office@gmail.com").isEmpty()) {
                 User deanOffice = User.builder()
                         .name("Деканат")
                         .email("dean_office@gmail.com")
-                        .password(new BCryptPasswordEncoder().encode("dean_office123"))
+                        .password(passwordEncoder.encode("dean_office123"))
                         .role(Role.DEAN)
                         .status(Status.APPROVED)
                         .build();
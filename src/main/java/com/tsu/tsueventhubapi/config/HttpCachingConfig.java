@@ -0,0 +1,27 @@
+package com.tsu.tsueventhubapi.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+@Configuration
+public class HttpCachingConfig {
+
+    /**
+     * Page-level ETags for list endpoints: the page is still built, but an unchanged one goes back as a bodyless 304.
+     * Single resources are answered from their version columns instead (see ConditionalGet). Exact paths only,
+     * so streaming endpoints such as exports and SSE are never buffered.
+     */
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> listEtagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+                new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns(
+                "/events", "/events/cursor", "/events/search",
+                "/companies",
+                "/profile/events", "/profile/waitlist",
+                "/requests/pending", "/requests/queue");
+        return registration;
+    }
+}
@@ -11,6 +11,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -41,6 +42,8 @@ public class AuthController {
                     content = @Content(schema = @Schema(implementation = TokenResponse.class))),
             @ApiResponse(responseCode = "400", description = "Неверный или просроченный refreshToken",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Повторное использование refreshToken, сессия отозвана",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "404", description = "Пользователь не найден",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера",
@@ -59,6 +62,8 @@ public class AuthController {
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "401", description = "Неавторизован",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "503", description = "Слишком много одновременных входов, повторите позже",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))
             )
@@ -66,4 +71,33 @@ public class AuthController {
     public TokenResponse login(@Valid @RequestBody LoginRequest request) {
         return authService.login(request);
     }
+
+    @PostMapping("/logout")
+    @Operation(summary = "Выход из сессии", description = "Отзывает refreshToken и все токены, полученные из него обновлением")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Сессия завершена"),
+            @ApiResponse(responseCode = "400", description = "Неверный или просроченный refreshToken",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshRequest request) {
+        authService.logout(request.getRefreshToken());
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/logout-all")
+    @Operation(summary = "Выход со всех устройств",
+            description = "Отзывает все refresh-токены пользователя и делает недействительными выданные access-токены")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Все сессии завершены"),
+            @ApiResponse(responseCode = "400", description = "Неверный или просроченный refreshToken",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public ResponseEntity<Void> logoutAll(@Valid @RequestBody RefreshRequest request) {
+        authService.logoutAll(request.getRefreshToken());
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -4,11 +4,13 @@ package com.tsu.tsueventhubapi.controller;
 import com.tsu.tsueventhubapi.dto.CompanyPageResponse;
 import com.tsu.tsueventhubapi.dto.CompanyResponse;
 import com.tsu.tsueventhubapi.dto.CreateCompanyRequest;
+import com.tsu.tsueventhubapi.dto.ResourceVersion;
 import com.tsu.tsueventhubapi.dto.UpdateCompanyRequest;
 import com.tsu.tsueventhubapi.exception.ErrorResponse;
 import com.tsu.tsueventhubapi.security.UserDetailsImpl;
 import com.tsu.tsueventhubapi.service.CompanyService;
 import com.tsu.tsueventhubapi.util.ApprovedOnly;
+import com.tsu.tsueventhubapi.util.ConditionalGet;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -23,6 +25,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.UUID;
 
@@ -75,7 +78,7 @@ public class CompanyController {
         Page<CompanyResponse> companies;
 
         if (currentUser != null) {
-            companies = companyService.getCompaniesForUser(currentUser.getId(), page, size);
+            companies = companyService.getCompaniesForUser(currentUser, page, size);
         } else {
             companies = companyService.getCompaniesForRegistration(page, size);
         }
@@ -139,6 +142,10 @@ public class CompanyController {
                     description = "Информация о компании успешно получена",
                     content = @Content(schema = @Schema(implementation = CompanyResponse.class))
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Данные не изменились с версии из If-None-Match или If-Modified-Since"
+            ),
             @ApiResponse(
                     responseCode = "401",
                     description = "Неавторизован",
@@ -162,10 +169,11 @@ public class CompanyController {
     })
     public ResponseEntity<CompanyResponse> getCompanyById(
             @PathVariable UUID id,
-            @AuthenticationPrincipal UserDetailsImpl currentUser) {
+            @AuthenticationPrincipal UserDetailsImpl currentUser,
+            WebRequest webRequest) {
 
-        CompanyResponse company = companyService.getCompanyByIdForUser(id, currentUser);
-        return ResponseEntity.ok(company);
+        ResourceVersion version = companyService.getCompanyVersionForUser(id, currentUser);
+        return ConditionalGet.respond(webRequest, version, () -> companyService.getCompanyByIdForUser(id, currentUser));
     }
 
     @PutMapping("/{id}")
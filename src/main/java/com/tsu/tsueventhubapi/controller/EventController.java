@@ -1,10 +1,16 @@
 package com.tsu.tsueventhubapi.controller;
 
 import com.tsu.tsueventhubapi.dto.*;
+import com.tsu.tsueventhubapi.enumeration.EventTimeframe;
+import com.tsu.tsueventhubapi.enumeration.ExportFormat;
 import com.tsu.tsueventhubapi.exception.ErrorResponse;
 import com.tsu.tsueventhubapi.security.UserDetailsImpl;
+import com.tsu.tsueventhubapi.service.BulkRegistrationService;
+import com.tsu.tsueventhubapi.service.EventSearchService;
 import com.tsu.tsueventhubapi.service.EventService;
+import com.tsu.tsueventhubapi.service.WaitlistService;
 import com.tsu.tsueventhubapi.util.ApprovedOnly;
+import com.tsu.tsueventhubapi.util.ConditionalGet;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -15,11 +21,19 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -32,6 +46,9 @@ import java.util.UUID;
 public class EventController {
 
     private final EventService eventService;
+    private final WaitlistService waitlistService;
+    private final BulkRegistrationService bulkRegistrationService;
+    private final EventSearchService eventSearchService;
 
     @GetMapping
     @PreAuthorize("isAuthenticated()")
@@ -40,7 +57,13 @@ public class EventController {
             description = """
                 Доступно для всех авторизованных пользователей.
                 
-                Возвращает полный список событий, созданных компаниями или менеджерами.
+                Возвращает список событий, упорядоченный по времени начала. Менеджеры видят только события своей компании.
+
+                Фильтры (необязательные):
+                - `timeframe`: upcoming (ещё не начались), ongoing (идут сейчас) или past (завершились,
+                  в этом случае сортировка от новых к старым).
+                - `from`, `to`: интервал времени начала события.
+                - `registrationOpen=true`: только события, на которые ещё открыта регистрация.
                 """
     )
     @ApiResponses(value = {
@@ -49,6 +72,11 @@ public class EventController {
                     description = "Список событий успешно получен",
                     content = @Content(schema = @Schema(implementation = EventPageResponseSummary.class))
             ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Некорректный фильтр (например, неизвестный timeframe или to раньше from)",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
             @ApiResponse(
                     responseCode = "401",
                     description = "Неавторизован",
@@ -62,12 +90,114 @@ public class EventController {
     })
     public ResponseEntity<Page<EventResponseSummary>> getAllEvents(
             @AuthenticationPrincipal UserDetailsImpl currentUser,
+            @RequestParam(required = false) String timeframe,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(defaultValue = "false") boolean registrationOpen,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
-        Page<EventResponseSummary> events = eventService.getAllEvents(currentUser.getId(), page, size);
+        EventFilter filter = EventFilter.builder()
+                .timeframe(timeframe != null ? EventTimeframe.from(timeframe) : null)
+                .from(from)
+                .to(to)
+                .registrationOpen(registrationOpen)
+                .build();
+        Page<EventResponseSummary> events = eventService.getAllEvents(currentUser, filter, page, size);
+        return ResponseEntity.ok(events);
+    }
+
+    @GetMapping("/cursor")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(
+            summary = "Получение ленты событий по курсору",
+            description = """
+                Доступно для всех авторизованных пользователей.
+                
+                Возвращает события, упорядоченные по времени начала и ID. Для получения следующей страницы
+                передайте значение `nextCursor` из предыдущего ответа. Стоимость запроса не зависит от глубины
+                прокрутки. Общее количество событий считается только при `withTotal=true`.
+                Менеджеры видят только события своей компании.
+                """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Страница событий успешно получена",
+                    content = @Content(schema = @Schema(implementation = EventCursorPageResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Некорректный курсор",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Неавторизован",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Внутренняя ошибка сервера",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    public ResponseEntity<CursorPage<EventResponseSummary>> getEventsByCursor(
+            @AuthenticationPrincipal UserDetailsImpl currentUser,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+        CursorPage<EventResponseSummary> events =
+                eventService.getEventsByCursor(currentUser, cursor, size, withTotal);
         return ResponseEntity.ok(events);
     }
 
+    @GetMapping("/search")
+    @PreAuthorize("isAuthenticated()")
+    @Operation(
+            summary = "Полнотекстовый поиск событий",
+            description = """
+                Доступно для всех авторизованных пользователей.
+
+                Ищет события по названию, месту проведения и описанию с учётом морфологии русского языка
+                и опечаток в названии. Результаты упорядочены по релевантности. Для получения следующей
+                страницы передайте значение `nextCursor` из предыдущего ответа.
+                Можно ограничить поиск компанией (`companyId`) и интервалом времени начала (`from`, `to`).
+                Менеджеры ищут только среди событий своей компании.
+                """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Результаты поиска успешно получены",
+                    content = @Content(schema = @Schema(implementation = EventCursorPageResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Пустой или слишком длинный запрос, некорректный курсор или интервал",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Неавторизован",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Внутренняя ошибка сервера",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    public ResponseEntity<CursorPage<EventResponseSummary>> searchEvents(
+            @AuthenticationPrincipal UserDetailsImpl currentUser,
+            @RequestParam String q,
+            @RequestParam(required = false) UUID companyId,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(eventSearchService.search(currentUser, q, companyId, from, to, cursor, size));
+    }
+
     @PostMapping
     @PreAuthorize("hasRole('MANAGER')")
     @Operation(
@@ -125,6 +255,10 @@ public class EventController {
                     description = "Информация о событии успешно получена",
                     content = @Content(schema = @Schema(implementation = EventResponseFull.class))
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Данные не изменились с версии из If-None-Match или If-Modified-Since"
+            ),
             @ApiResponse(
                     responseCode = "401",
                     description = "Неавторизован",
@@ -148,10 +282,11 @@ public class EventController {
     })
     public ResponseEntity<EventResponseFull> getEventById(
             @PathVariable UUID id,
-            @AuthenticationPrincipal UserDetailsImpl currentUser) {
+            @AuthenticationPrincipal UserDetailsImpl currentUser,
+            WebRequest webRequest) {
 
-        EventResponseFull event = eventService.getEventById(id, currentUser.getId());
-        return ResponseEntity.ok(event);
+        ResourceVersion version = eventService.getEventVersion(id, currentUser);
+        return ConditionalGet.respond(webRequest, version, current -> eventService.getEventById(id, currentUser, current));
     }
 
     @PutMapping("/{id}")
@@ -286,7 +421,67 @@ public class EventController {
             @AuthenticationPrincipal UserDetailsImpl currentUser,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
-        return ResponseEntity.ok(eventService.getStudentsForEvent(id, currentUser.getId(), page, size));
+        return ResponseEntity.ok(eventService.getStudentsForEvent(id, currentUser, page, size));
+    }
+
+    @GetMapping("/{id}/students/export")
+    @PreAuthorize("hasAnyRole('MANAGER', 'DEAN')")
+    @Operation(
+            summary = "Выгрузка студентов события",
+            description = """
+            Выгружает всех студентов, зарегистрированных на событие, одним потоком в формате CSV или NDJSON.
+
+            - Менеджеры могут выгружать студентов только для событий, которые они создали.
+            - Деканат может выгружать студентов для любых событий.
+            - Параметр format: csv (по умолчанию) или ndjson.
+            """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Файл со списком студентов"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Неподдерживаемый формат выгрузки",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Неавторизован",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Доступ запрещён (например, менеджер пытается выгрузить студентов чужого события)",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Событие не найдено",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Внутренняя ошибка сервера",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    public ResponseEntity<StreamingResponseBody> exportStudents(
+            @PathVariable UUID id,
+            @AuthenticationPrincipal UserDetailsImpl currentUser,
+            @RequestParam(defaultValue = "csv") String format) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        eventService.checkStudentsAccess(id, currentUser);
+
+        StreamingResponseBody body = out -> eventService.exportStudents(id, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("event-" + id + "-students." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
     }
 
     @PostMapping("/{id}/register")
@@ -300,6 +495,7 @@ public class EventController {
             - Студент может зарегистрироваться только один раз на каждое событие.
             - Регистрация невозможна после истечения срока регистрации.
             - Регистрация невозможна, если событие уже завершилось.
+            - Регистрация невозможна, если все места (capacity) заняты.
             """
     )
     @ApiResponses(value = {
@@ -309,7 +505,7 @@ public class EventController {
             ),
             @ApiResponse(
                     responseCode = "400",
-                    description = "Ошибка валидации (например, уже зарегистрирован, срок регистрации истёк)",
+                    description = "Ошибка валидации (например, срок регистрации истёк)",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))
             ),
             @ApiResponse(
@@ -327,6 +523,11 @@ public class EventController {
                     description = "Событие не найдено",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))
             ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Студент уже зарегистрирован или свободных мест нет",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "Внутренняя ошибка сервера",
@@ -347,6 +548,7 @@ public class EventController {
             summary = "Отменить запись на событие",
             description = """
             Позволяет студенту отменить свою регистрацию на конкретное событие.
+            Освободившееся место сразу получает первый студент из листа ожидания.
 
             Правила:
             - Студент может отменить запись только если он ранее зарегистрировался.
@@ -386,4 +588,244 @@ public class EventController {
         eventService.unregisterStudent(id, currentUser.getId());
         return ResponseEntity.ok().build();
     }
+
+    @PostMapping("/{id}/registrations/bulk")
+    @PreAuthorize("hasRole('MANAGER')")
+    @Operation(
+            summary = "Массовая запись студентов на событие",
+            description = """
+            Позволяет менеджеру записать на событие сразу группу студентов по их id и/или email.
+
+            Правила:
+            - Менеджер может записывать студентов только на события своей компании.
+            - Не более 5000 строк за один запрос.
+            - Запись невозможна после дедлайна регистрации или окончания события.
+            - Свободные места сначала получают студенты из листа ожидания в порядке очереди,
+              затем строки импорта. Если мест не хватает, оставшиеся строки получают статус NO_SEATS.
+            - Для каждой строки возвращается статус: REGISTERED, REACTIVATED, ALREADY_REGISTERED,
+              DUPLICATE, INVALID, NOT_FOUND, NOT_A_STUDENT или NO_SEATS.
+            """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Импорт выполнен, отчёт содержит результат по каждой строке",
+                    content = @Content(schema = @Schema(implementation = BulkRegistrationResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Ошибка валидации (например, пустой список, слишком много строк, дедлайн прошёл или событие завершилось)",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Неавторизован",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Доступ запрещён (событие другой компании)",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Событие не найдено",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Регистрации на событие изменились во время импорта, повторите запрос",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Внутренняя ошибка сервера",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    public ResponseEntity<BulkRegistrationResponse> bulkRegister(
+            @PathVariable UUID id,
+            @AuthenticationPrincipal UserDetailsImpl currentUser,
+            @RequestBody BulkRegistrationRequest request) {
+        return ResponseEntity.ok(bulkRegistrationService.registerStudents(id, currentUser, request));
+    }
+
+    @PostMapping(value = "/{id}/registrations/bulk/csv", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('MANAGER')")
+    @Operation(
+            summary = "Массовая запись студентов из CSV",
+            description = """
+            Принимает CSV-файл, в первой колонке которого указан id или email студента.
+            Строка заголовка пропускается автоматически. Правила и статусы те же,
+            что и у массовой записи по списку.
+            """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Импорт выполнен, отчёт содержит результат по каждой строке",
+                    content = @Content(schema = @Schema(implementation = BulkRegistrationResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Ошибка валидации (например, пустой список, слишком много строк, дедлайн прошёл или событие завершилось)",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Неавторизован",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Доступ запрещён (событие другой компании)",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Событие не найдено",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Регистрации на событие изменились во время импорта, повторите запрос",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Внутренняя ошибка сервера",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    public ResponseEntity<BulkRegistrationResponse> bulkRegisterFromCsv(
+            @PathVariable UUID id,
+            @AuthenticationPrincipal UserDetailsImpl currentUser,
+            @RequestParam("file") MultipartFile file) {
+        return ResponseEntity.ok(bulkRegistrationService.registerStudentsFromCsv(id, currentUser, file));
+    }
+
+    @GetMapping(value = "/{id}/availability", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("isAuthenticated()")
+    @Operation(
+            summary = "Поток свободных мест события",
+            description = """
+            Server-Sent Events: сразу после подключения и затем при каждом изменении приходит событие
+            `availability` с вместимостью, числом записавшихся, количеством свободных мест и сроком регистрации.
+            Изменения объединяются за короткий интервал (по умолчанию 500 мс), поэтому всплеск записей
+            порождает одно сообщение. Каждые 15 секунд отправляется комментарий-heartbeat.
+            Менеджер может подписаться только на события своей компании. При удалении события поток закрывается.
+            """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Поток событий открыт",
+                    content = @Content(schema = @Schema(implementation = SeatAvailabilityResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Неавторизован",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Менеджер пытается подписаться на событие чужой компании",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Событие не найдено",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    public SseEmitter streamSeatAvailability(@PathVariable UUID id,
+                                             @AuthenticationPrincipal UserDetailsImpl currentUser) {
+        return eventService.streamSeatAvailability(id, currentUser);
+    }
+
+    @PostMapping("/{id}/waitlist/join")
+    @PreAuthorize("hasRole('STUDENT')")
+    @Operation(
+            summary = "Встать в лист ожидания",
+            description = """
+            Ставит студента в очередь на заполненное событие.
+
+            Правила:
+            - Если свободное место есть, студент сразу регистрируется на событие (статус REGISTERED).
+            - Иначе студент попадает в конец очереди (статус WAITLISTED) и получает свою позицию.
+            - При освобождении места первый в очереди регистрируется автоматически.
+            """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Студент зарегистрирован или поставлен в очередь",
+                    content = @Content(schema = @Schema(implementation = WaitlistResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Ошибка валидации (например, срок регистрации истёк)",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Неавторизован",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Событие не найдено",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Студент уже зарегистрирован или уже стоит в очереди",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Внутренняя ошибка сервера",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    public ResponseEntity<WaitlistResponse> joinWaitlist(
+            @PathVariable UUID id,
+            @AuthenticationPrincipal UserDetailsImpl currentUser) {
+        return ResponseEntity.ok(waitlistService.join(id, currentUser.getId()));
+    }
+
+    @PostMapping("/{id}/waitlist/leave")
+    @PreAuthorize("hasRole('STUDENT')")
+    @Operation(
+            summary = "Покинуть лист ожидания",
+            description = "Удаляет студента из очереди на событие."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Студент удалён из очереди"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Студент не стоит в очереди на это событие",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Неавторизован",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Внутренняя ошибка сервера",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    public ResponseEntity<Void> leaveWaitlist(
+            @PathVariable UUID id,
+            @AuthenticationPrincipal UserDetailsImpl currentUser) {
+
+        waitlistService.leave(id, currentUser.getId());
+        return ResponseEntity.ok().build();
+    }
 }
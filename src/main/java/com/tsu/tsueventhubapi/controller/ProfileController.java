@@ -2,13 +2,18 @@ package com.tsu.tsueventhubapi.controller;
 
 import com.tsu.tsueventhubapi.dto.EventPageResponseSummary;
 import com.tsu.tsueventhubapi.dto.EventResponseSummary;
+import com.tsu.tsueventhubapi.dto.ResourceVersion;
 import com.tsu.tsueventhubapi.dto.UpdateProfileRequest;
 import com.tsu.tsueventhubapi.dto.UserResponse;
+import com.tsu.tsueventhubapi.dto.WaitlistPositionPageResponse;
+import com.tsu.tsueventhubapi.dto.WaitlistPositionResponse;
 import com.tsu.tsueventhubapi.exception.ErrorResponse;
 import com.tsu.tsueventhubapi.model.User;
 import com.tsu.tsueventhubapi.security.UserDetailsImpl;
 import com.tsu.tsueventhubapi.service.ProfileService;
+import com.tsu.tsueventhubapi.service.WaitlistService;
 import com.tsu.tsueventhubapi.util.ApprovedOnly;
+import com.tsu.tsueventhubapi.util.ConditionalGet;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -23,6 +28,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -34,6 +40,7 @@ import java.util.List;
 public class ProfileController {
 
     private final ProfileService profileService;
+    private final WaitlistService waitlistService;
 
     @GetMapping
     @Operation(
@@ -46,6 +53,10 @@ public class ProfileController {
                     description = "Данные пользователя успешно получены",
                     content = @Content(schema = @Schema(implementation = UserResponse.class))
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Данные не изменились с версии из If-None-Match или If-Modified-Since"
+            ),
             @ApiResponse(
                     responseCode = "401",
                     description = "Неавторизован",
@@ -61,8 +72,10 @@ public class ProfileController {
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))
             )
     })
-    public UserResponse getProfile(@AuthenticationPrincipal UserDetailsImpl currentUser) {
-        return profileService.getCurrentUser(currentUser.getId());
+    public ResponseEntity<UserResponse> getProfile(@AuthenticationPrincipal UserDetailsImpl currentUser,
+                                                   WebRequest webRequest) {
+        ResourceVersion version = profileService.getCurrentUserVersion(currentUser.getId());
+        return ConditionalGet.respond(webRequest, version, () -> profileService.getCurrentUser(currentUser.getId()));
     }
 
     @PutMapping
@@ -140,4 +153,30 @@ public class ProfileController {
         Page<EventResponseSummary> events = profileService.getStudentEvents(currentUser.getId(), page, size);
         return ResponseEntity.ok(events);
     }
+
+    @GetMapping("/waitlist")
+    @ApprovedOnly
+    @PreAuthorize("hasRole('STUDENT')")
+    @Operation(
+            summary = "Листы ожидания студента",
+            description = "Возвращает события, в очереди на которые стоит студент, и его текущую позицию в каждой очереди."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Список успешно получен",
+                    content = @Content(schema = @Schema(implementation = WaitlistPositionPageResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Неавторизован",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    public ResponseEntity<Page<WaitlistPositionResponse>> getStudentWaitlist(
+            @AuthenticationPrincipal UserDetailsImpl currentUser,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(waitlistService.getStudentWaitlist(currentUser.getId(), page, size));
+    }
 }
@@ -1,5 +1,9 @@
 package com.tsu.tsueventhubapi.controller;
 
+import com.tsu.tsueventhubapi.dto.BatchApprovalRequest;
+import com.tsu.tsueventhubapi.dto.BatchApprovalResponse;
+import com.tsu.tsueventhubapi.dto.CursorPage;
+import com.tsu.tsueventhubapi.dto.PendingUserCursorPageResponse;
 import com.tsu.tsueventhubapi.dto.PendingUserPageResponse;
 import com.tsu.tsueventhubapi.dto.PendingUserResponse;
 import com.tsu.tsueventhubapi.dto.RejectRequestDto;
@@ -15,9 +19,11 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.UUID;
@@ -63,6 +69,73 @@ public class RequestController {
         return requestService.getPendingUsers(page, size);
     }
 
+    @GetMapping("/queue")
+    @PreAuthorize("hasAnyRole('DEAN','MANAGER')")
+    @Operation(
+            summary = "Очередь неподтверждённых заявок по курсору",
+            description = """
+            Возвращает неподтверждённые заявки в порядке поступления. Для получения следующей страницы передайте
+            значение `nextCursor` из предыдущего ответа; стоимость запроса не зависит от размера очереди.
+            Общее количество заявок считается только при `withTotal=true`.
+            MANAGER видит только заявки внутри своей компании.
+            """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Страница очереди успешно получена",
+                    content = @Content(schema = @Schema(implementation = PendingUserCursorPageResponse.class))),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Некорректный курсор",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Неавторизован",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Доступ запрещён: роль или статус пользователя не позволяет получить данные",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Внутренняя ошибка сервера",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public CursorPage<PendingUserResponse> getPendingQueue(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal
+    ) {
+        return requestService.getPendingQueue(cursor, size, withTotal);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('DEAN','MANAGER')")
+    @Operation(
+            summary = "Поток изменений очереди заявок",
+            description = """
+            Server-Sent Events: событие `CREATED` приходит при появлении новой заявки (поле `request`),
+            `PROCESSED` — при её подтверждении или отклонении (поле `requestIds`). MANAGER получает только события
+            своей компании. Каждые 15 секунд отправляется комментарий-heartbeat. После разрыва соединения клиент
+            переподключается и перечитывает очередь через `GET /requests/queue`.
+            """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Поток событий открыт"),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Неавторизован",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Доступ запрещён: роль или статус пользователя не позволяет получить данные",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public SseEmitter streamPendingQueue() {
+        return requestService.streamPendingQueue();
+    }
+
     @PostMapping("/{id}/approve")
     @PreAuthorize("hasAnyRole('DEAN','MANAGER')")
     @Operation(
@@ -79,6 +152,8 @@ public class RequestController {
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "404", description = "Заявка не найдена",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Заявка пользователя уже была обработана",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
@@ -95,8 +170,6 @@ public class RequestController {
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Заявка пользователя успешно отклонена"),
-            @ApiResponse(responseCode = "400", description = "Заявка пользователя уже была обработана",
-                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "401", description = "Неавторизован",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "403",
@@ -104,6 +177,8 @@ public class RequestController {
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "404", description = "Заявка не найдена",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Заявка пользователя уже была обработана",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера",
                     content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
@@ -113,4 +188,59 @@ public class RequestController {
         requestService.rejectUser(requestId, reason);
         return ResponseEntity.ok().build();
     }
+
+    @PostMapping("/batch/approve")
+    @PreAuthorize("hasAnyRole('DEAN','MANAGER')")
+    @Operation(
+            summary = "Массовое подтверждение заявок",
+            description = """
+            Подтверждает заявки из списка `requestIds` (до 5000) или, при `allPending = true`, все необработанные
+            заявки, при необходимости только пользователей с ролью `role`. Заявки обрабатываются частями, каждая
+            часть — отдельной транзакцией.
+
+            Для списка `requestIds` возвращается результат по каждой заявке. Менеджер обрабатывает только заявки
+            своей компании.
+            """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Заявки обработаны",
+                    content = @Content(schema = @Schema(implementation = BatchApprovalResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Не указаны заявки или превышен лимит",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Неавторизован",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещён",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public BatchApprovalResponse approveUsers(@RequestBody BatchApprovalRequest request) {
+        return requestService.approveUsers(request);
+    }
+
+    @PostMapping("/batch/reject")
+    @PreAuthorize("hasAnyRole('DEAN','MANAGER')")
+    @Operation(
+            summary = "Массовое отклонение заявок",
+            description = """
+            Отклоняет заявки из списка `requestIds` (до 5000) или, при `allPending = true`, все необработанные
+            заявки, при необходимости только пользователей с ролью `role`. Причина `reason` сохраняется
+            для каждой отклонённой заявки.
+            """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Заявки обработаны",
+                    content = @Content(schema = @Schema(implementation = BatchApprovalResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Не указаны заявки или превышен лимит",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Неавторизован",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "403", description = "Доступ запрещён",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "500", description = "Внутренняя ошибка сервера",
+                    content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public BatchApprovalResponse rejectUsers(@RequestBody BatchApprovalRequest request) {
+        return requestService.rejectUsers(request);
+    }
 }
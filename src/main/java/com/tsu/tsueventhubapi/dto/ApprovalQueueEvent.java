@@ -0,0 +1,21 @@
+package com.tsu.tsueventhubapi.dto;
+
+import com.tsu.tsueventhubapi.enumeration.ApprovalQueueEventType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ApprovalQueueEvent {
+    private ApprovalQueueEventType type;
+    private UUID companyId;
+    private PendingUserResponse request;
+    private List<UUID> requestIds;
+}
@@ -0,0 +1,16 @@
+package com.tsu.tsueventhubapi.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public interface ApprovalRequestState {
+    UUID getId();
+
+    Boolean getProcessed();
+
+    UUID getUserId();
+
+    UUID getCompanyId();
+
+    Instant getDeletedAt();
+}
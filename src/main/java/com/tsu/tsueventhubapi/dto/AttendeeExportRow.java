@@ -0,0 +1,19 @@
+package com.tsu.tsueventhubapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AttendeeExportRow {
+    private UUID id;
+    private String name;
+    private String email;
+    private String telegramUsername;
+    private Instant registeredAt;
+}
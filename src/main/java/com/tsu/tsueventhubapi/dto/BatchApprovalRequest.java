@@ -0,0 +1,21 @@
+package com.tsu.tsueventhubapi.dto;
+
+import com.tsu.tsueventhubapi.enumeration.Role;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchApprovalRequest {
+    private List<UUID> requestIds;
+    private boolean allPending;
+    private Role role;
+    private String reason;
+}
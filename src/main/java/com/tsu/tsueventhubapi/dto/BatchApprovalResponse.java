@@ -0,0 +1,18 @@
+package com.tsu.tsueventhubapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchApprovalResponse {
+    private int processed;
+    private int skipped;
+    private List<BatchApprovalRowResult> rows;
+}
@@ -0,0 +1,18 @@
+package com.tsu.tsueventhubapi.dto;
+
+import com.tsu.tsueventhubapi.enumeration.BatchApprovalStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchApprovalRowResult {
+    private UUID requestId;
+    private BatchApprovalStatus status;
+}
@@ -0,0 +1,18 @@
+package com.tsu.tsueventhubapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkRegistrationRequest {
+    private List<UUID> studentIds;
+    private List<String> emails;
+}
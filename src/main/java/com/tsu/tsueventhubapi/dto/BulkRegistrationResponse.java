@@ -0,0 +1,20 @@
+package com.tsu.tsueventhubapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkRegistrationResponse {
+    private UUID eventId;
+    private int registered;
+    private int rejected;
+    private List<BulkRegistrationRowResult> rows;
+}
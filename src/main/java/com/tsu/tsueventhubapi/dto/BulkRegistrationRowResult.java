@@ -0,0 +1,20 @@
+package com.tsu.tsueventhubapi.dto;
+
+import com.tsu.tsueventhubapi.enumeration.BulkRegistrationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkRegistrationRowResult {
+    private int row;
+    private String input;
+    private UUID studentId;
+    private BulkRegistrationStatus status;
+}
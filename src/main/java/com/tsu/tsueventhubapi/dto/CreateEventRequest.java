@@ -2,6 +2,7 @@ package com.tsu.tsueventhubapi.dto;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import lombok.Data;
 
 import java.time.Instant;
@@ -22,4 +23,7 @@ public class CreateEventRequest {
     private String location;
 
     private Instant registrationDeadline;
+
+    @Positive
+    private Integer capacity;
 }
@@ -0,0 +1,16 @@
+package com.tsu.tsueventhubapi.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class EventCursorPageResponse {
+    private List<EventResponseSummary> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+    private Long totalElements;
+}
@@ -0,0 +1,24 @@
+package com.tsu.tsueventhubapi.dto;
+
+import com.tsu.tsueventhubapi.enumeration.EventTimeframe;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventFilter {
+    private EventTimeframe timeframe;
+    private Instant from;
+    private Instant to;
+    private boolean registrationOpen;
+
+    public boolean isEmpty() {
+        return timeframe == null && from == null && to == null && !registrationOpen;
+    }
+}
@@ -21,5 +21,7 @@ public class EventResponseFull {
     private Instant endTime;
     private String location;
     private Instant registrationDeadline;
+    private Integer capacity;
+    private int registeredCount;
     private CompanyResponse company;
 }
@@ -17,5 +17,11 @@ public class EventResponseSummary {
     private String title;
     private Instant startTime;
     private String location;
+    private int registeredCount;
     private CompanyResponse company;
+
+    public EventResponseSummary(UUID id, String title, Instant startTime, String location, int registeredCount,
+                                UUID companyId, String companyName) {
+        this(id, title, startTime, location, registeredCount, new CompanyResponse(companyId, companyName));
+    }
 }
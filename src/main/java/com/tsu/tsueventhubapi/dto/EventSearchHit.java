@@ -0,0 +1,9 @@
+package com.tsu.tsueventhubapi.dto;
+
+import java.util.UUID;
+
+public interface EventSearchHit {
+    UUID getId();
+
+    Double getRank();
+}
@@ -3,10 +3,13 @@ package com.tsu.tsueventhubapi.dto;
 import com.tsu.tsueventhubapi.enumeration.Role;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
+import java.time.Instant;
 import java.util.UUID;
 
 @Data
+@NoArgsConstructor
 @AllArgsConstructor
 public class PendingUserResponse {
     private UUID requestId;
@@ -15,4 +18,5 @@ public class PendingUserResponse {
     private Role role;
     private String telegramUsername;
     private String company;
+    private Instant createdAt;
 }
@@ -0,0 +1,11 @@
+package com.tsu.tsueventhubapi.dto;
+
+import java.util.UUID;
+
+public interface ProcessedApproval {
+    UUID getRequestId();
+
+    UUID getUserId();
+
+    UUID getCompanyId();
+}
@@ -0,0 +1,51 @@
+package com.tsu.tsueventhubapi.dto;
+
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * ETag and Last-Modified of a single resource, selected by id without loading the entity graph. The ETag carries
+ * the resource id, so one URL serving different users (GET /profile) never matches another user's cached copy.
+ */
+@Getter
+public class ResourceVersion {
+    private final UUID companyId;
+    private final String etag;
+    private final Instant lastModified;
+
+    // Event: registeredCount is kept outside the version, and the response embeds the company name
+    public ResourceVersion(UUID id, long version, int registeredCount, Instant updatedAt,
+                           UUID companyId, long companyVersion, Instant companyUpdatedAt) {
+        this.companyId = companyId;
+        this.etag = "\"" + id + "-" + version + "-" + registeredCount + "-" + companyVersion + "\"";
+        this.lastModified = latest(updatedAt, companyUpdatedAt);
+    }
+
+    // Company
+    public ResourceVersion(UUID id, long version, Instant updatedAt) {
+        this.companyId = id;
+        this.etag = "\"" + id + "-" + version + "\"";
+        this.lastModified = updatedAt;
+    }
+
+    // User: the company is optional and embedded for managers only
+    public ResourceVersion(UUID id, long version, Instant updatedAt,
+                           UUID companyId, Long companyVersion, Instant companyUpdatedAt) {
+        this.companyId = companyId;
+        this.etag = "\"" + id + "-" + version + (companyVersion != null ? "-" + companyVersion : "") + "\"";
+        this.lastModified = companyUpdatedAt != null ? latest(updatedAt, companyUpdatedAt) : updatedAt;
+    }
+
+    // Validators kept next to a cached body
+    public ResourceVersion(String etag, Instant lastModified) {
+        this.companyId = null;
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
+    private static Instant latest(Instant first, Instant second) {
+        return first.isAfter(second) ? first : second;
+    }
+}
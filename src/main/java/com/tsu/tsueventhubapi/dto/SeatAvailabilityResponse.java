@@ -0,0 +1,19 @@
+package com.tsu.tsueventhubapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatAvailabilityResponse {
+    private UUID eventId;
+    private Integer capacity;
+    private int registeredCount;
+    private Integer availableSeats;
+    private Instant registrationDeadline;
+}
@@ -1,12 +1,16 @@
 package com.tsu.tsueventhubapi.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.util.UUID;
 
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 @Builder
 public class StudentResponse {
     private UUID id;
@@ -1,5 +1,6 @@
 package com.tsu.tsueventhubapi.dto;
 
+import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -19,4 +20,7 @@ public class UpdateEventRequest {
     private Instant endTime;
     private String location;
     private Instant registrationDeadline;
+
+    @Positive
+    private Integer capacity;
 }
@@ -0,0 +1,7 @@
+package com.tsu.tsueventhubapi.dto;
+
+/**
+ * A response body together with the validators of the state it was built from.
+ */
+public record Versioned<T>(T body, ResourceVersion version) {
+}
@@ -0,0 +1,15 @@
+package com.tsu.tsueventhubapi.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class WaitlistPositionPageResponse {
+    private int totalPages;
+    private long totalElements;
+    private int size;
+    private List<WaitlistPositionResponse> content;
+}
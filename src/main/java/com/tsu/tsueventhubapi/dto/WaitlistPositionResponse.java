@@ -0,0 +1,21 @@
+package com.tsu.tsueventhubapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WaitlistPositionResponse {
+    private UUID eventId;
+    private String title;
+    private Instant startTime;
+    private String location;
+    private long position;
+}
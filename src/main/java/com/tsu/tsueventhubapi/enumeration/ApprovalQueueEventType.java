@@ -0,0 +1,6 @@
+package com.tsu.tsueventhubapi.enumeration;
+
+public enum ApprovalQueueEventType {
+    CREATED,
+    PROCESSED
+}
@@ -0,0 +1,9 @@
+package com.tsu.tsueventhubapi.enumeration;
+
+public enum BatchApprovalStatus {
+    APPROVED,
+    REJECTED,
+    ALREADY_PROCESSED,
+    NOT_FOUND,
+    FORBIDDEN
+}
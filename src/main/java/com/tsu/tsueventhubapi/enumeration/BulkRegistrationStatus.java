@@ -0,0 +1,12 @@
+package com.tsu.tsueventhubapi.enumeration;
+
+public enum BulkRegistrationStatus {
+    REGISTERED,
+    REACTIVATED,
+    ALREADY_REGISTERED,
+    DUPLICATE,
+    INVALID,
+    NOT_FOUND,
+    NOT_A_STUDENT,
+    NO_SEATS
+}
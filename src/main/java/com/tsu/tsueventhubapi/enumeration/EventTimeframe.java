@@ -0,0 +1,16 @@
+package com.tsu.tsueventhubapi.enumeration;
+
+public enum EventTimeframe {
+    UPCOMING,
+    ONGOING,
+    PAST;
+
+    public static EventTimeframe from(String value) {
+        for (EventTimeframe timeframe : values()) {
+            if (timeframe.name().equalsIgnoreCase(value)) {
+                return timeframe;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported timeframe: " + value);
+    }
+}
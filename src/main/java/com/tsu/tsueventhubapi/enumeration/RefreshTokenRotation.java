@@ -0,0 +1,7 @@
+package com.tsu.tsueventhubapi.enumeration;
+
+public enum RefreshTokenRotation {
+    ROTATED,
+    INVALID,
+    REUSED
+}
@@ -25,6 +25,7 @@ public class ApprovalRequest {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    @Column(nullable = false)
     private Instant createdAt;
 
     private boolean processed;
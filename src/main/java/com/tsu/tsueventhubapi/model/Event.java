@@ -5,13 +5,17 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "events")
+@Table(name = "events", indexes = {
+        @Index(name = "idx_events_start_time_id", columnList = "start_time, id"),
+        @Index(name = "idx_events_company_start_time_id", columnList = "company_id, start_time, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -40,6 +44,22 @@ public class Event {
     @Column
     private Instant registrationDeadline;
 
+    @Column
+    private Integer capacity;
+
+    // Maintained only by the atomic seat updates in EventRepository, never by entity saves
+    @Builder.Default
+    @Column(nullable = false, insertable = false, updatable = false, columnDefinition = "integer default 0")
+    private int registeredCount = 0;
+
+    // The seat updates leave the version alone so they never fail a concurrent edit; they only touch updatedAt
+    @Version
+    private Long version;
+
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private Instant updatedAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "manager_id", nullable = false)
     private User manager;
@@ -0,0 +1,45 @@
+package com.tsu.tsueventhubapi.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "waitlist_entries", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"student_id", "event_id"})
+}, indexes = {
+        @Index(name = "idx_waitlist_entries_event_queue_position", columnList = "event_id, queue_position")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WaitlistEntry {
+    @Id
+    @GeneratedValue
+    @Column(columnDefinition = "uuid", updatable = false, nullable = false)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id", nullable = false)
+    private User student;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Event event;
+
+    @Column(nullable = false, insertable = false, updatable = false,
+            columnDefinition = "bigint generated by default as identity")
+    private Long queuePosition;
+
+    @Column(nullable = false)
+    private Instant joinedAt;
+}
@@ -1,20 +1,186 @@
 package com.tsu.tsueventhubapi.repository;
 
+import com.tsu.tsueventhubapi.dto.ApprovalRequestState;
+import com.tsu.tsueventhubapi.dto.PendingUserResponse;
+import com.tsu.tsueventhubapi.dto.ProcessedApproval;
 import com.tsu.tsueventhubapi.model.ApprovalRequest;
-import com.tsu.tsueventhubapi.model.Company;
-import com.tsu.tsueventhubapi.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface ApprovalRequestRepository extends JpaRepository<ApprovalRequest, UUID> {
-    Page<ApprovalRequest> findByProcessedFalseAndUser_DeletedAtIsNull(Pageable pageable);
+    @Query(value = """
+            select new com.tsu.tsueventhubapi.dto.PendingUserResponse(
+                r.id, u.name, u.email, u.role, u.telegramUsername, c.name, r.createdAt)
+            from ApprovalRequest r join r.user u left join u.company c
+            where r.processed = false and u.deletedAt is null
+            order by r.createdAt asc, r.id asc
+            """,
+            countQuery = """
+            select count(r) from ApprovalRequest r
+            where r.processed = false and r.user.deletedAt is null
+            """)
+    Page<PendingUserResponse> findPendingSummaries(Pageable pageable);
 
-    Page<ApprovalRequest> findByProcessedFalseAndUser_Company(Company company, Pageable pageable);
+    @Query(value = """
+            select new com.tsu.tsueventhubapi.dto.PendingUserResponse(
+                r.id, u.name, u.email, u.role, u.telegramUsername, c.name, r.createdAt)
+            from ApprovalRequest r join r.user u left join u.company c
+            where r.processed = false and c.id = :companyId
+            order by r.createdAt asc, r.id asc
+            """,
+            countQuery = """
+            select count(r) from ApprovalRequest r
+            where r.processed = false and r.user.company.id = :companyId
+            """)
+    Page<PendingUserResponse> findPendingSummariesByCompanyId(@Param("companyId") UUID companyId, Pageable pageable);
+
+    @Query("""
+            select new com.tsu.tsueventhubapi.dto.PendingUserResponse(
+                r.id, u.name, u.email, u.role, u.telegramUsername, c.name, r.createdAt)
+            from ApprovalRequest r join r.user u left join u.company c
+            where r.processed = false and u.deletedAt is null
+            order by r.createdAt asc, r.id asc
+            """)
+    List<PendingUserResponse> findFirstQueuePage(Pageable limit);
+
+    @Query("""
+            select new com.tsu.tsueventhubapi.dto.PendingUserResponse(
+                r.id, u.name, u.email, u.role, u.telegramUsername, c.name, r.createdAt)
+            from ApprovalRequest r join r.user u left join u.company c
+            where r.processed = false and u.deletedAt is null
+              and (r.createdAt > :createdAt
+               or (r.createdAt = :createdAt and r.id > :id))
+            order by r.createdAt asc, r.id asc
+            """)
+    List<PendingUserResponse> findNextQueuePage(@Param("createdAt") Instant createdAt,
+                                                @Param("id") UUID id,
+                                                Pageable limit);
+
+    @Query("""
+            select new com.tsu.tsueventhubapi.dto.PendingUserResponse(
+                r.id, u.name, u.email, u.role, u.telegramUsername, c.name, r.createdAt)
+            from ApprovalRequest r join r.user u left join u.company c
+            where r.processed = false and u.deletedAt is null and c.id = :companyId
+            order by r.createdAt asc, r.id asc
+            """)
+    List<PendingUserResponse> findFirstQueuePageByCompanyId(@Param("companyId") UUID companyId, Pageable limit);
+
+    @Query("""
+            select new com.tsu.tsueventhubapi.dto.PendingUserResponse(
+                r.id, u.name, u.email, u.role, u.telegramUsername, c.name, r.createdAt)
+            from ApprovalRequest r join r.user u left join u.company c
+            where r.processed = false and u.deletedAt is null and c.id = :companyId
+              and (r.createdAt > :createdAt
+               or (r.createdAt = :createdAt and r.id > :id))
+            order by r.createdAt asc, r.id asc
+            """)
+    List<PendingUserResponse> findNextQueuePageByCompanyId(@Param("companyId") UUID companyId,
+                                                           @Param("createdAt") Instant createdAt,
+                                                           @Param("id") UUID id,
+                                                           Pageable limit);
+
+    @Query("""
+            select count(r) from ApprovalRequest r
+            where r.processed = false and r.user.deletedAt is null
+            """)
+    long countPending();
+
+    @Query("""
+            select count(r) from ApprovalRequest r
+            where r.processed = false and r.user.deletedAt is null and r.user.company.id = :companyId
+            """)
+    long countPendingByCompanyId(@Param("companyId") UUID companyId);
+
+    @Query(nativeQuery = true, value = """
+            select ar.id
+            from approval_requests ar
+            join users u on u.id = ar.user_id
+            where ar.processed = false
+              and u.deleted_at is null
+              and u.id <> :actorId
+              and (:allCompanies or u.company_id = :companyId)
+              and (:anyRole or u.role = :role)
+            order by ar.created_at, ar.id
+            limit :limit
+            for update of ar skip locked
+            """)
+    List<UUID> lockPendingIds(@Param("actorId") UUID actorId,
+                              @Param("allCompanies") boolean allCompanies,
+                              @Param("companyId") UUID companyId,
+                              @Param("anyRole") boolean anyRole,
+                              @Param("role") String role,
+                              @Param("limit") int limit);
+
+    // Both updates run in one statement; a request already processed by someone else is simply not returned
+    @Query(nativeQuery = true, value = """
+            with processed as (
+                update approval_requests ar
+                set processed = true
+                from users u
+                where u.id = ar.user_id
+                  and ar.id in (:ids)
+                  and ar.processed = false
+                  and u.deleted_at is null
+                  and u.id <> :actorId
+                  and (:allCompanies or u.company_id = :companyId)
+                returning ar.id, ar.user_id, u.company_id
+            ), approved as (
+                update users u
+                set status = 'APPROVED', version = u.version + 1, updated_at = now()
+                from processed p
+                where u.id = p.user_id
+                returning u.id
+            )
+            select p.id as "requestId", p.user_id as "userId", p.company_id as "companyId" from processed p
+            """)
+    List<ProcessedApproval> approvePending(@Param("ids") Collection<UUID> ids,
+                                           @Param("actorId") UUID actorId,
+                                           @Param("allCompanies") boolean allCompanies,
+                                           @Param("companyId") UUID companyId);
+
+    @Query(nativeQuery = true, value = """
+            with processed as (
+                update approval_requests ar
+                set processed = true, rejection_reason = cast(:reason as varchar)
+                from users u
+                where u.id = ar.user_id
+                  and ar.id in (:ids)
+                  and ar.processed = false
+                  and u.deleted_at is null
+                  and u.id <> :actorId
+                  and (:allCompanies or u.company_id = :companyId)
+                returning ar.id, ar.user_id, u.company_id
+            ), rejected as (
+                update users u
+                set status = 'REJECTED', deleted_at = :now, version = u.version + 1, updated_at = :now
+                from processed p
+                where u.id = p.user_id
+                returning u.id
+            )
+            select p.id as "requestId", p.user_id as "userId", p.company_id as "companyId" from processed p
+            """)
+    List<ProcessedApproval> rejectPending(@Param("ids") Collection<UUID> ids,
+                                          @Param("actorId") UUID actorId,
+                                          @Param("allCompanies") boolean allCompanies,
+                                          @Param("companyId") UUID companyId,
+                                          @Param("reason") String reason,
+                                          @Param("now") Instant now);
+
+    @Query("""
+            select r.id as id, r.processed as processed, u.id as userId, c.id as companyId, u.deletedAt as deletedAt
+            from ApprovalRequest r join r.user u left join u.company c
+            where r.id in :ids
+            """)
+    List<ApprovalRequestState> findStatesByIdIn(@Param("ids") Collection<UUID> ids);
 }
@@ -1,14 +1,21 @@
 package com.tsu.tsueventhubapi.repository;
 
+import com.tsu.tsueventhubapi.dto.ResourceVersion;
 import com.tsu.tsueventhubapi.model.Company;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface CompanyRepository extends JpaRepository<Company, UUID> {
     Page<Company> findAll(Pageable pageable);
+
+    @Query("select new com.tsu.tsueventhubapi.dto.ResourceVersion(c.id, c.version, c.updatedAt) from Company c where c.id = :id")
+    Optional<ResourceVersion> findVersionById(@Param("id") UUID id);
 }
@@ -1,15 +1,208 @@
 package com.tsu.tsueventhubapi.repository;
 
+import com.tsu.tsueventhubapi.dto.EventResponseSummary;
+import com.tsu.tsueventhubapi.dto.EventSearchHit;
+import com.tsu.tsueventhubapi.dto.ResourceVersion;
+import com.tsu.tsueventhubapi.dto.SeatAvailabilityResponse;
 import com.tsu.tsueventhubapi.model.Event;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
-public interface EventRepository extends JpaRepository<Event, UUID> {
+public interface EventRepository extends JpaRepository<Event, UUID>, JpaSpecificationExecutor<Event> {
     Page<Event> findByCompanyId(UUID companyId,  Pageable pageable);
 
     Page<Event> findAll(Pageable pageable);
+
+    long countByCompanyId(UUID companyId);
+
+    @EntityGraph(attributePaths = "company")
+    Optional<Event> findWithCompanyById(UUID id);
+
+    @Query("""
+            select new com.tsu.tsueventhubapi.dto.ResourceVersion(
+                e.id, e.version, e.registeredCount, e.updatedAt, c.id, c.version, c.updatedAt)
+            from Event e
+            join e.company c
+            where e.id = :id
+            """)
+    Optional<ResourceVersion> findVersionById(@Param("id") UUID id);
+
+    @Query("select e.company.id from Event e where e.id = :id")
+    Optional<UUID> findCompanyIdById(@Param("id") UUID id);
+
+    @Query("select e.id from Event e where e.company.id = :companyId")
+    List<UUID> findIdsByCompanyId(@Param("companyId") UUID companyId);
+
+    @Override
+    @EntityGraph(attributePaths = "company")
+    Page<Event> findAll(Specification<Event> spec, Pageable pageable);
+
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            update events set registered_count = registered_count + 1, updated_at = now()
+            where id = :eventId
+              and (capacity is null or registered_count < capacity)
+              and (registration_deadline is null or registration_deadline > :now)
+              and (end_time is null or end_time > :now)
+            """)
+    int reserveSeat(@Param("eventId") UUID eventId, @Param("now") Instant now);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Event> findLockedById(UUID id);
+
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            update events set registered_count = registered_count + 1, updated_at = now()
+            where id = :eventId and (capacity is null or registered_count < capacity)
+            """)
+    int occupyFreeSeat(@Param("eventId") UUID eventId);
+
+    @Query(nativeQuery = true, value = """
+            select e.id from events e
+            left join registrations r on r.event_id = e.id and r.unregistered_at is null
+            group by e.id
+            having e.registered_count <> count(r.id)
+            """)
+    List<UUID> findIdsWithRegisteredCountDrift();
+
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            update events set registered_count = (
+                select count(*) from registrations r
+                where r.event_id = events.id and r.unregistered_at is null),
+                updated_at = now()
+            where id = :eventId
+            """)
+    int recountRegistrations(@Param("eventId") UUID eventId);
+
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            update events set registered_count = registered_count + :seats, updated_at = now()
+            where id = :eventId
+            """)
+    int addSeats(@Param("eventId") UUID eventId, @Param("seats") int seats);
+
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            update events set registered_count = registered_count - 1, updated_at = now()
+            where id = :eventId and registered_count > 0
+            """)
+    int releaseSeat(@Param("eventId") UUID eventId);
+
+    @Query(value = """
+            select new com.tsu.tsueventhubapi.dto.EventResponseSummary(
+                e.id, e.title, e.startTime, e.location, e.registeredCount, c.id, c.name)
+            from Event e join e.company c
+            """,
+            countQuery = "select count(e) from Event e")
+    Page<EventResponseSummary> findSummaries(Pageable pageable);
+
+    @Query(value = """
+            select new com.tsu.tsueventhubapi.dto.EventResponseSummary(
+                e.id, e.title, e.startTime, e.location, e.registeredCount, c.id, c.name)
+            from Event e join e.company c
+            where c.id = :companyId
+            """,
+            countQuery = "select count(e) from Event e where e.company.id = :companyId")
+    Page<EventResponseSummary> findSummariesByCompanyId(@Param("companyId") UUID companyId, Pageable pageable);
+
+    @Query("""
+            select new com.tsu.tsueventhubapi.dto.EventResponseSummary(
+                e.id, e.title, e.startTime, e.location, e.registeredCount, c.id, c.name)
+            from Event e join e.company c
+            order by e.startTime asc, e.id asc
+            """)
+    List<EventResponseSummary> findFirstKeysetPage(Pageable limit);
+
+    @Query("""
+            select new com.tsu.tsueventhubapi.dto.EventResponseSummary(
+                e.id, e.title, e.startTime, e.location, e.registeredCount, c.id, c.name)
+            from Event e join e.company c
+            where e.startTime > :startTime
+               or (e.startTime = :startTime and e.id > :id)
+            order by e.startTime asc, e.id asc
+            """)
+    List<EventResponseSummary> findNextKeysetPage(@Param("startTime") Instant startTime,
+                                                  @Param("id") UUID id,
+                                                  Pageable limit);
+
+    @Query("""
+            select new com.tsu.tsueventhubapi.dto.EventResponseSummary(
+                e.id, e.title, e.startTime, e.location, e.registeredCount, c.id, c.name)
+            from Event e join e.company c
+            where c.id = :companyId
+            order by e.startTime asc, e.id asc
+            """)
+    List<EventResponseSummary> findFirstKeysetPageByCompanyId(@Param("companyId") UUID companyId, Pageable limit);
+
+    @Query("""
+            select new com.tsu.tsueventhubapi.dto.EventResponseSummary(
+                e.id, e.title, e.startTime, e.location, e.registeredCount, c.id, c.name)
+            from Event e join e.company c
+            where c.id = :companyId
+              and (e.startTime > :startTime
+               or (e.startTime = :startTime and e.id > :id))
+            order by e.startTime asc, e.id asc
+            """)
+    List<EventResponseSummary> findNextKeysetPageByCompanyId(@Param("companyId") UUID companyId,
+                                                             @Param("startTime") Instant startTime,
+                                                             @Param("id") UUID id,
+                                                             Pageable limit);
+
+    @Query(nativeQuery = true, value = """
+            select h.id as id, h.rank as rank
+            from (
+                select e.id,
+                       cast(ts_rank_cd(e.search_vector, q) + similarity(e.title, :text) as double precision) as rank
+                from events e
+                cross join websearch_to_tsquery('russian', :text) q
+                where (e.search_vector @@ q or e.title % :text)
+                  and (:allCompanies or e.company_id = :companyId)
+                  and e.start_time >= :from and e.start_time < :to
+            ) h
+            where h.rank < :afterRank or (h.rank = :afterRank and h.id > :afterId)
+            order by h.rank desc, h.id asc
+            limit :limit
+            """)
+    List<EventSearchHit> search(@Param("text") String text,
+                                @Param("allCompanies") boolean allCompanies,
+                                @Param("companyId") UUID companyId,
+                                @Param("from") Instant from,
+                                @Param("to") Instant to,
+                                @Param("afterRank") double afterRank,
+                                @Param("afterId") UUID afterId,
+                                @Param("limit") int limit);
+
+    @Query("""
+            select new com.tsu.tsueventhubapi.dto.EventResponseSummary(
+                e.id, e.title, e.startTime, e.location, e.registeredCount, c.id, c.name)
+            from Event e join e.company c
+            where e.id in :ids
+            """)
+    List<EventResponseSummary> findSummariesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("""
+            select new com.tsu.tsueventhubapi.dto.SeatAvailabilityResponse(
+                e.id, e.capacity, e.registeredCount,
+                case when e.capacity is null then null else e.capacity - e.registeredCount end,
+                e.registrationDeadline)
+            from Event e
+            where e.id in :ids
+            """)
+    List<SeatAvailabilityResponse> findSeatAvailabilityByIdIn(@Param("ids") Collection<UUID> ids);
 }
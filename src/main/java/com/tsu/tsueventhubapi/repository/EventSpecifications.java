@@ -0,0 +1,50 @@
+package com.tsu.tsueventhubapi.repository;
+
+import com.tsu.tsueventhubapi.model.Event;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public final class EventSpecifications {
+
+    private EventSpecifications() {
+    }
+
+    public static Specification<Event> belongsToCompany(UUID companyId) {
+        return (root, query, cb) -> cb.equal(root.get("company").get("id"), companyId);
+    }
+
+    public static Specification<Event> startsAtOrAfter(Instant from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("startTime"), from);
+    }
+
+    public static Specification<Event> startsBefore(Instant to) {
+        return (root, query, cb) -> cb.lessThan(root.get("startTime"), to);
+    }
+
+    public static Specification<Event> upcoming(Instant now) {
+        return (root, query, cb) -> cb.greaterThan(root.get("startTime"), now);
+    }
+
+    public static Specification<Event> ongoing(Instant now) {
+        return (root, query, cb) -> cb.and(
+                cb.lessThanOrEqualTo(root.get("startTime"), now),
+                cb.greaterThan(root.get("endTime"), now)
+        );
+    }
+
+    public static Specification<Event> past(Instant now) {
+        return (root, query, cb) -> cb.and(
+                cb.lessThanOrEqualTo(root.get("startTime"), now),
+                cb.or(cb.isNull(root.get("endTime")), cb.lessThanOrEqualTo(root.get("endTime"), now))
+        );
+    }
+
+    public static Specification<Event> registrationOpen(Instant now) {
+        return (root, query, cb) -> cb.and(
+                cb.or(cb.isNull(root.get("registrationDeadline")), cb.greaterThan(root.get("registrationDeadline"), now)),
+                cb.or(cb.isNull(root.get("endTime")), cb.greaterThan(root.get("endTime"), now))
+        );
+    }
+}
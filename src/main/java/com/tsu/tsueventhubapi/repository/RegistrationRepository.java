@@ -1,18 +1,92 @@
 package com.tsu.tsueventhubapi.repository;
 
+import com.tsu.tsueventhubapi.dto.AttendeeExportRow;
+import com.tsu.tsueventhubapi.dto.EventResponseSummary;
+import com.tsu.tsueventhubapi.dto.StudentResponse;
 import com.tsu.tsueventhubapi.model.Registration;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface RegistrationRepository extends JpaRepository<Registration, UUID> {
     Optional<Registration> findByStudentIdAndEventId(UUID studentId, UUID eventId);
 
+    boolean existsByStudentIdAndEventId(UUID studentId, UUID eventId);
+
+    boolean existsByStudentIdAndEventIdAndUnregisteredAtIsNull(UUID studentId, UUID eventId);
+
+    @Query("select r from Registration r where r.event.id = :eventId and r.student.id in :studentIds")
+    List<Registration> findByEventIdAndStudentIdIn(@Param("eventId") UUID eventId,
+                                                   @Param("studentIds") Collection<UUID> studentIds);
+
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            insert into registrations (id, student_id, event_id, registered_at)
+            values (gen_random_uuid(), :studentId, :eventId, :now)
+            on conflict (student_id, event_id) do update
+                set registered_at = excluded.registered_at, unregistered_at = null
+                where registrations.unregistered_at is not null
+            """)
+    int upsertActiveRegistration(@Param("studentId") UUID studentId,
+                                 @Param("eventId") UUID eventId,
+                                 @Param("now") Instant now);
+
+    @Modifying
+    @Query("""
+            update Registration r set r.unregisteredAt = :now
+            where r.student.id = :studentId and r.event.id = :eventId and r.unregisteredAt is null
+            """)
+    int markUnregistered(@Param("studentId") UUID studentId,
+                         @Param("eventId") UUID eventId,
+                         @Param("now") Instant now);
+
     Page<Registration> findByStudentIdAndUnregisteredAtIsNull(UUID studentId, Pageable pageable);
 
     Page<Registration> findByEventIdAndUnregisteredAtIsNull(UUID eventId, Pageable pageable);
+
+    @Query(value = """
+            select new com.tsu.tsueventhubapi.dto.EventResponseSummary(
+                e.id, e.title, e.startTime, e.location, e.registeredCount, c.id, c.name)
+            from Registration r join r.event e join e.company c
+            where r.student.id = :studentId and r.unregisteredAt is null
+            """,
+            countQuery = """
+            select count(r) from Registration r
+            where r.student.id = :studentId and r.unregisteredAt is null
+            """)
+    Page<EventResponseSummary> findEventSummariesByStudentId(@Param("studentId") UUID studentId, Pageable pageable);
+
+    @Query("""
+            select new com.tsu.tsueventhubapi.dto.StudentResponse(s.id, s.name, s.email)
+            from Registration r join r.student s
+            where r.event.id = :eventId and r.unregisteredAt is null
+            order by r.registeredAt, r.id
+            """)
+    List<StudentResponse> findStudentsByEventId(@Param("eventId") UUID eventId, Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new com.tsu.tsueventhubapi.dto.AttendeeExportRow(
+                s.id, s.name, s.email, s.telegramUsername, r.registeredAt)
+            from Registration r join r.student s
+            where r.event.id = :eventId and r.unregisteredAt is null
+            order by r.registeredAt, r.id
+            """)
+    Stream<AttendeeExportRow> streamAttendeesByEventId(@Param("eventId") UUID eventId);
 }
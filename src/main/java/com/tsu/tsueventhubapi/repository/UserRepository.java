@@ -1,9 +1,15 @@
 package com.tsu.tsueventhubapi.repository;
 
+import com.tsu.tsueventhubapi.dto.ResourceVersion;
 import com.tsu.tsueventhubapi.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,4 +17,21 @@ import java.util.UUID;
 public interface UserRepository extends JpaRepository<User, UUID> {
     boolean existsByEmail(String email);
     Optional<User> findByEmail(String email);
+
+    @Query("""
+            select new com.tsu.tsueventhubapi.dto.ResourceVersion(
+                u.id, u.version, u.updatedAt, c.id, c.version, c.updatedAt)
+            from User u
+            left join u.company c
+            where u.id = :id
+            """)
+    Optional<ResourceVersion> findVersionById(@Param("id") UUID id);
+
+    @Query("select u from User u where u.deletedAt is null and (u.id in :ids or u.email in :emails)")
+    List<User> findActiveByIdInOrEmailIn(@Param("ids") Collection<UUID> ids,
+                                         @Param("emails") Collection<String> emails);
+
+    @Modifying
+    @Query("update User u set u.password = :password where u.email = :email")
+    int updatePasswordByEmail(@Param("email") String email, @Param("password") String password);
 }
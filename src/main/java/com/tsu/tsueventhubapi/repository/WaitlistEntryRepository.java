@@ -0,0 +1,60 @@
+package com.tsu.tsueventhubapi.repository;
+
+import com.tsu.tsueventhubapi.dto.WaitlistPositionResponse;
+import com.tsu.tsueventhubapi.model.WaitlistEntry;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, UUID> {
+
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            insert into waitlist_entries (id, student_id, event_id, joined_at)
+            values (gen_random_uuid(), :studentId, :eventId, :now)
+            on conflict (student_id, event_id) do nothing
+            """)
+    int enqueue(@Param("studentId") UUID studentId, @Param("eventId") UUID eventId, @Param("now") Instant now);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    Optional<WaitlistEntry> findFirstByEventIdOrderByQueuePositionAsc(UUID eventId);
+
+    @Modifying
+    @Query("delete from WaitlistEntry w where w.student.id = :studentId and w.event.id = :eventId")
+    int deleteByStudentIdAndEventId(@Param("studentId") UUID studentId, @Param("eventId") UUID eventId);
+
+    @Modifying
+    @Query("delete from WaitlistEntry w where w.event.id = :eventId and w.student.id in :studentIds")
+    int deleteByEventIdAndStudentIdIn(@Param("eventId") UUID eventId,
+                                      @Param("studentIds") Collection<UUID> studentIds);
+
+    @Query("""
+            select count(w) from WaitlistEntry w
+            where w.event.id = :eventId and w.queuePosition <= (
+                select m.queuePosition from WaitlistEntry m
+                where m.event.id = :eventId and m.student.id = :studentId)
+            """)
+    long findPosition(@Param("studentId") UUID studentId, @Param("eventId") UUID eventId);
+
+    // Ordered so page boundaries are stable between requests
+    @Query(value = """
+            select new com.tsu.tsueventhubapi.dto.WaitlistPositionResponse(
+                e.id, e.title, e.startTime, e.location, count(o))
+            from WaitlistEntry w join w.event e
+            join WaitlistEntry o on o.event.id = e.id and o.queuePosition <= w.queuePosition
+            where w.student.id = :studentId
+            group by e.id, e.title, e.startTime, e.location
+            order by e.startTime, e.id
+            """,
+            countQuery = "select count(w) from WaitlistEntry w where w.student.id = :studentId")
+    Page<WaitlistPositionResponse> findPositionsByStudentId(@Param("studentId") UUID studentId, Pageable pageable);
+}
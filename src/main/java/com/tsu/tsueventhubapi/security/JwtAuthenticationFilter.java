@@ -1,10 +1,12 @@
 package com.tsu.tsueventhubapi.security;
 
+import io.jsonwebtoken.Claims;
 import io.micrometer.common.lang.NonNull;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.dao.DataAccessException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -17,10 +19,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final UserDetailsImplService userDetailsImplService;
+    private final TokenVersionService tokenVersionService;
 
-    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, UserDetailsImplService userDetailsImplService) {
+    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider,
+                                   UserDetailsImplService userDetailsImplService,
+                                   TokenVersionService tokenVersionService) {
         this.jwtTokenProvider = jwtTokenProvider;
         this.userDetailsImplService = userDetailsImplService;
+        this.tokenVersionService = tokenVersionService;
     }
 
     @Override
@@ -35,21 +41,39 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             token = header.substring(7);
         }
 
-        if (token != null && jwtTokenProvider.validateToken(token)) {
-            UUID userId = jwtTokenProvider.getUserIdFromToken(token);
+        Claims claims = token != null ? jwtTokenProvider.parseVerifiedClaims(token).orElse(null) : null;
 
-            if (userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetailsImpl userDetails = userDetailsImplService.loadUserById(userId);
+        if (claims != null && !jwtTokenProvider.isRefreshToken(claims)
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetailsImpl userDetails = resolvePrincipal(claims);
 
-                if (userDetails != null && !userDetails.getAuthorities().isEmpty()) {
-                    UsernamePasswordAuthenticationToken auth =
-                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                    auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(auth);
-                }
+            if (userDetails != null && !userDetails.getAuthorities().isEmpty()) {
+                UsernamePasswordAuthenticationToken auth =
+                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(auth);
             }
         }
 
         filterChain.doFilter(request, response);
     }
+
+    private UserDetailsImpl resolvePrincipal(Claims claims) {
+        UUID userId = UUID.fromString(claims.getSubject());
+
+        if (!jwtTokenProvider.hasCurrentClaims(claims)) {
+            return userDetailsImplService.loadUserById(userId);
+        }
+
+        try {
+            if (jwtTokenProvider.getTokenVersion(claims) != tokenVersionService.getCurrentVersion(userId)) {
+                return null;
+            }
+        } catch (DataAccessException e) {
+            // Revocation cannot be checked without Redis, so trust the cached principal instead of the claims
+            return userDetailsImplService.loadUserById(userId);
+        }
+
+        return UserDetailsImpl.fromClaims(claims);
+    }
 }
@@ -0,0 +1,19 @@
+package com.tsu.tsueventhubapi.security;
+
+public final class JwtClaims {
+
+    public static final int CURRENT_CLAIMS_VERSION = 1;
+
+    public static final String CLAIMS_VERSION = "cv";
+    public static final String TOKEN_TYPE = "typ";
+    public static final String ROLE = "role";
+    public static final String EMAIL = "email";
+    public static final String STATUS = "status";
+    public static final String COMPANY_ID = "companyId";
+    public static final String TOKEN_VERSION = "ver";
+
+    public static final String REFRESH_TOKEN_TYPE = "refresh";
+
+    private JwtClaims() {
+    }
+}
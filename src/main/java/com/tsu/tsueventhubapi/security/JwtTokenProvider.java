@@ -1,14 +1,26 @@
 package com.tsu.tsueventhubapi.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Optional;
 import java.util.UUID;
 
 @Component
@@ -23,54 +35,112 @@ public class JwtTokenProvider {
     @Value("${JWT_REFRESH_EXPIRATION}")
     private long jwtRefreshExpirationMs;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    @Value("${security.jwt.verified-token-cache.ttl:30s}")
+    private Duration verifiedTokenCacheTtl;
+
+    @Value("${security.jwt.verified-token-cache.maximum-size:10000}")
+    private long verifiedTokenCacheMaximumSize;
+
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+    private Cache<String, Claims> verifiedTokens;
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        verifiedTokens = verifiedTokenCacheTtl.isZero() ? null : Caffeine.newBuilder()
+                .maximumSize(verifiedTokenCacheMaximumSize)
+                .expireAfterWrite(verifiedTokenCacheTtl)
+                .build();
     }
 
-    public String generateToken(UserDetailsImpl userDetails) {
-        return generateToken(userDetails, jwtExpirationMs);
+    public String generateToken(UserDetailsImpl userDetails, long tokenVersion) {
+        return baseToken(userDetails, jwtExpirationMs)
+                .claim(JwtClaims.CLAIMS_VERSION, JwtClaims.CURRENT_CLAIMS_VERSION)
+                .claim(JwtClaims.EMAIL, userDetails.getEmail())
+                .claim(JwtClaims.STATUS, userDetails.getStatus().name())
+                .claim(JwtClaims.COMPANY_ID, userDetails.getCompanyId() != null
+                        ? userDetails.getCompanyId().toString()
+                        : null)
+                .claim(JwtClaims.TOKEN_VERSION, tokenVersion)
+                .compact();
     }
 
     public String generateRefreshToken(UserDetailsImpl userDetails) {
-        return generateToken(userDetails, jwtRefreshExpirationMs);
+        // The id keeps two refresh tokens issued to one user within the same second distinct
+        return baseToken(userDetails, jwtRefreshExpirationMs)
+                .setId(UUID.randomUUID().toString())
+                .claim(JwtClaims.TOKEN_TYPE, JwtClaims.REFRESH_TOKEN_TYPE)
+                .compact();
     }
 
-    private String generateToken(UserDetailsImpl userDetails, long expirationMs) {
+    private JwtBuilder baseToken(UserDetailsImpl userDetails, long expirationMs) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expirationMs);
 
         return Jwts.builder()
                 .setSubject(userDetails.getId().toString())
-                .claim("role", userDetails.getAuthorities())
+                .claim(JwtClaims.ROLE, userDetails.getAuthorities())
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
-                .compact();
+                .signWith(signingKey, SignatureAlgorithm.HS512);
     }
 
-    public UUID getUserIdFromToken(String token) {
-        String id = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
-        return UUID.fromString(id);
-    }
+    public Optional<Claims> parseVerifiedClaims(String token) {
+        String cacheKey = verifiedTokens != null ? hash(token) : null;
+
+        if (cacheKey != null) {
+            Claims cached = verifiedTokens.getIfPresent(cacheKey);
+            if (cached != null) {
+                if (cached.getExpiration().after(new Date())) {
+                    return Optional.of(cached);
+                }
+                verifiedTokens.invalidate(cacheKey);
+                return Optional.empty();
+            }
+        }
 
-    public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            if (cacheKey != null) {
+                verifiedTokens.put(cacheKey, claims);
+            }
+            return Optional.of(claims);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
         }
     }
 
+    public boolean validateToken(String token) {
+        return parseVerifiedClaims(token).isPresent();
+    }
+
+    public boolean isRefreshToken(Claims claims) {
+        return JwtClaims.REFRESH_TOKEN_TYPE.equals(claims.get(JwtClaims.TOKEN_TYPE, String.class));
+    }
+
+    public boolean hasCurrentClaims(Claims claims) {
+        Integer claimsVersion = claims.get(JwtClaims.CLAIMS_VERSION, Integer.class);
+        return claimsVersion != null && claimsVersion == JwtClaims.CURRENT_CLAIMS_VERSION;
+    }
+
+    public long getTokenVersion(Claims claims) {
+        return claims.get(JwtClaims.TOKEN_VERSION, Long.class);
+    }
+
     public long getRefreshExpirationMs() {
         return jwtRefreshExpirationMs;
     }
-}
\ No newline at end of file
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
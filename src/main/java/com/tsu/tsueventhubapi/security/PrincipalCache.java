@@ -0,0 +1,65 @@
+package com.tsu.tsueventhubapi.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+@Component
+public class PrincipalCache {
+
+    private final Cache<UUID, UserDetailsImpl> cache;
+    private final AtomicLong evictions = new AtomicLong();
+
+    public PrincipalCache(@Value("${security.principal-cache.maximum-size:10000}") long maximumSize,
+                          @Value("${security.principal-cache.ttl:60s}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public UserDetailsImpl get(UUID userId, Function<UUID, UserDetailsImpl> loader) {
+        UserDetailsImpl cached = cache.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Loading through Cache.get would hold a map bin lock across the JDBC call and pin a virtual thread
+        long epochBeforeLoad = evictions.get();
+        UserDetailsImpl loaded = loader.apply(userId);
+        if (evictions.get() == epochBeforeLoad) {
+            cache.put(userId, loaded);
+        }
+        return loaded;
+    }
+
+    public void evict(UUID userId) {
+        evictAll(List.of(userId));
+    }
+
+    public void evictAll(Collection<UUID> userIds) {
+        evictions.incrementAndGet();
+        cache.invalidateAll(userIds);
+
+        // A concurrent request may reload the old row before the transaction commits
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictions.incrementAndGet();
+                    cache.invalidateAll(userIds);
+                }
+            });
+        }
+    }
+}
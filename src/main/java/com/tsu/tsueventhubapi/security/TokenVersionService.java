@@ -0,0 +1,140 @@
+package com.tsu.tsueventhubapi.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Token versions live in Redis and are cached per node, so authenticating a request normally costs no round trip.
+ * A bump is published to every node, which drops its cached versions of those users. After a failed read, Redis
+ * is not asked again for a cool-down period and callers fail fast instead of waiting for the Redis timeout.
+ */
+@Service
+public class TokenVersionService {
+
+    private static final String KEY_PREFIX = "token_version:";
+    private static final String CHANNEL = "token_version:bumped";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final long jwtRefreshExpirationMs;
+    private final Duration openDuration;
+    private final Cache<UUID, Long> versions;
+    private final AtomicLong evictions = new AtomicLong();
+
+    private volatile long retryAtMs;
+
+    public TokenVersionService(RedisTemplate<String, String> redisTemplate,
+                               RedisMessageListenerContainer listenerContainer,
+                               @Value("${JWT_REFRESH_EXPIRATION}") long jwtRefreshExpirationMs,
+                               @Value("${security.token-versions.local.maximum-size:100000}") long maximumSize,
+                               @Value("${security.token-versions.local.ttl:30s}") Duration ttl,
+                               @Value("${security.token-versions.open-duration:10s}") Duration openDuration) {
+        this.redisTemplate = redisTemplate;
+        this.jwtRefreshExpirationMs = jwtRefreshExpirationMs;
+        this.openDuration = openDuration;
+        // The TTL bounds how long a bump whose message was lost goes unnoticed on other nodes
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+
+        listenerContainer.addMessageListener(
+                (message, pattern) -> evictLocal(parseUserIds(new String(message.getBody(), StandardCharsets.UTF_8))),
+                new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * @throws DataAccessException when the version is not cached and Redis is failing or cooling down
+     */
+    public long getCurrentVersion(UUID userId) {
+        Long cached = versions.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        if (System.currentTimeMillis() < retryAtMs) {
+            throw new RedisConnectionFailureException("Token versions are unavailable until Redis recovers");
+        }
+
+        long epochBeforeLoad = evictions.get();
+        long current;
+        try {
+            String version = redisTemplate.opsForValue().get(KEY_PREFIX + userId);
+            current = version != null ? Long.parseLong(version) : 0L;
+        } catch (DataAccessException e) {
+            retryAtMs = System.currentTimeMillis() + openDuration.toMillis();
+            throw e;
+        }
+
+        // A bump during the read must not leave the old version cached
+        if (evictions.get() == epochBeforeLoad) {
+            versions.put(userId, current);
+        }
+        return current;
+    }
+
+    public void bumpAll(Collection<UUID> userIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment(userIds);
+                }
+            });
+        } else {
+            increment(userIds);
+        }
+    }
+
+    private void increment(Collection<UUID> userIds) {
+        try {
+            // Once every token issued before the bump has expired, the counter is no longer needed
+            // Pipelined so a batch approval costs one round trip instead of two per user
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (UUID userId : userIds) {
+                    byte[] key = (KEY_PREFIX + userId).getBytes(StandardCharsets.UTF_8);
+                    connection.stringCommands().incr(key);
+                    connection.keyCommands().pExpire(key, jwtRefreshExpirationMs);
+                }
+                return null;
+            });
+        } finally {
+            // Dropped after the increment, so a concurrent read cannot cache the old version again
+            evictLocal(userIds);
+        }
+
+        try {
+            redisTemplate.convertAndSend(CHANNEL,
+                    userIds.stream().map(UUID::toString).collect(Collectors.joining(",")));
+        } catch (DataAccessException e) {
+            // Other nodes pick the bump up once their cached versions expire
+        }
+    }
+
+    private void evictLocal(Collection<UUID> userIds) {
+        evictions.incrementAndGet();
+        versions.invalidateAll(userIds);
+    }
+
+    private static List<UUID> parseUserIds(String message) {
+        return Arrays.stream(message.split(",")).map(UUID::fromString).toList();
+    }
+}
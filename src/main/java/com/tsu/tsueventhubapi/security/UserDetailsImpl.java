@@ -1,7 +1,10 @@
 package com.tsu.tsueventhubapi.security;
 
 
+import com.tsu.tsueventhubapi.enumeration.Role;
+import com.tsu.tsueventhubapi.enumeration.Status;
 import com.tsu.tsueventhubapi.model.User;
+import io.jsonwebtoken.Claims;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
@@ -10,6 +13,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RequiredArgsConstructor
@@ -20,12 +24,37 @@ public class UserDetailsImpl implements UserDetails {
     private final String email;
     private final String password;
     private final Collection<? extends GrantedAuthority> authorities;
+    private final Role role;
+    private final Status status;
+    private final UUID companyId;
     
     public static UserDetailsImpl fromUser(User user) {
         List<GrantedAuthority> roles = List.of(
                 new SimpleGrantedAuthority("ROLE_" + user.getRole().name())
         );
-        return new UserDetailsImpl(user.getId(), user.getEmail(), user.getPassword(), roles);
+        UUID companyId = user.getCompany() != null ? user.getCompany().getId() : null;
+        return new UserDetailsImpl(user.getId(), user.getEmail(), user.getPassword(), roles,
+                user.getRole(), user.getStatus(), companyId);
+    }
+
+    public static UserDetailsImpl fromClaims(Claims claims) {
+        Map<?, ?> authority = (Map<?, ?>) claims.get(JwtClaims.ROLE, List.class).getFirst();
+        String roleName = String.valueOf(authority.get("authority"));
+        String companyId = claims.get(JwtClaims.COMPANY_ID, String.class);
+
+        return new UserDetailsImpl(
+                UUID.fromString(claims.getSubject()),
+                claims.get(JwtClaims.EMAIL, String.class),
+                null,
+                List.of(new SimpleGrantedAuthority(roleName)),
+                Role.valueOf(roleName.substring("ROLE_".length())),
+                Status.valueOf(claims.get(JwtClaims.STATUS, String.class)),
+                companyId != null ? UUID.fromString(companyId) : null
+        );
+    }
+
+    public boolean isApproved() {
+        return status == Status.APPROVED;
     }
 
     @Override
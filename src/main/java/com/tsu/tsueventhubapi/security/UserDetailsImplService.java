@@ -3,19 +3,29 @@ package com.tsu.tsueventhubapi.security;
 import com.tsu.tsueventhubapi.model.User;
 import com.tsu.tsueventhubapi.repository.UserRepository;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Service
-public class UserDetailsImplService implements UserDetailsService {
+public class UserDetailsImplService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final TokenVersionService tokenVersionService;
 
-    public UserDetailsImplService(UserRepository userRepository) {
+    public UserDetailsImplService(UserRepository userRepository,
+                                  PrincipalCache principalCache,
+                                  TokenVersionService tokenVersionService) {
         this.userRepository = userRepository;
+        this.principalCache = principalCache;
+        this.tokenVersionService = tokenVersionService;
     }
 
     @Override
@@ -25,9 +35,34 @@ public class UserDetailsImplService implements UserDetailsService {
         return UserDetailsImpl.fromUser(user);
     }
     
+    /**
+     * Called by the authentication provider after a successful login whose stored hash no longer matches
+     * the encoder policy (legacy unprefixed hash or a lower BCrypt strength).
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePasswordByEmail(user.getUsername(), newPassword);
+        UserDetailsImpl current = (UserDetailsImpl) user;
+        principalCache.evict(current.getId());
+        return new UserDetailsImpl(current.getId(), current.getEmail(), newPassword, current.getAuthorities(),
+                current.getRole(), current.getStatus(), current.getCompanyId());
+    }
+
     public UserDetailsImpl loadUserById(UUID userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with id: " + userId));
-        return UserDetailsImpl.fromUser(user);
+        return principalCache.get(userId, id -> {
+            User user = userRepository.findById(id)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found with id: " + id));
+            return UserDetailsImpl.fromUser(user);
+        });
+    }
+
+    public void invalidate(UUID userId) {
+        invalidateAll(List.of(userId));
+    }
+
+    public void invalidateAll(Collection<UUID> userIds) {
+        principalCache.evictAll(userIds);
+        tokenVersionService.bumpAll(userIds);
     }
 }
@@ -0,0 +1,102 @@
+package com.tsu.tsueventhubapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tsu.tsueventhubapi.dto.ApprovalQueueEvent;
+import com.tsu.tsueventhubapi.dto.PendingUserResponse;
+import com.tsu.tsueventhubapi.dto.ProcessedApproval;
+import com.tsu.tsueventhubapi.enumeration.ApprovalQueueEventType;
+import com.tsu.tsueventhubapi.enumeration.Role;
+import com.tsu.tsueventhubapi.security.UserDetailsImpl;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes changes of the pending approval queue to connected deans and managers over SSE. Deans subscribe to every
+ * company and managers to their own, through an {@link SseChannel} so a change made on one node reaches clients
+ * connected to any other.
+ */
+@Component
+public class ApprovalQueueBroadcaster {
+
+    private static final String CHANNEL = "requests:queue-events";
+    private static final UUID NO_COMPANY = new UUID(0, 0);
+    // Subscription key of deans; managers subscribe under their company id, and one without a company under
+    // NO_COMPANY, which no change is routed to
+    private static final UUID ALL_COMPANIES = new UUID(0, 1);
+
+    private final SseChannel<ApprovalQueueEvent> channel;
+
+    public ApprovalQueueBroadcaster(StringRedisTemplate redisTemplate,
+                                    ObjectMapper objectMapper,
+                                    RedisMessageListenerContainer listenerContainer,
+                                    @Value("${requests.stream.timeout:30m}") Duration timeout) {
+        this.channel = new SseChannel<>(CHANNEL, ApprovalQueueEvent.class,
+                ApprovalQueueBroadcaster::recipients, event -> event.getType().name(),
+                timeout, redisTemplate, objectMapper, listenerContainer);
+    }
+
+    public SseEmitter subscribe(UserDetailsImpl user) {
+        UUID key = user.getRole() == Role.DEAN
+                ? ALL_COMPANIES
+                : Objects.requireNonNullElse(user.getCompanyId(), NO_COMPANY);
+        return channel.subscribe(key, SseEmitter.event().comment("connected"));
+    }
+
+    public void publishCreated(PendingUserResponse request, UUID companyId) {
+        publishAfterCommit(List.of(ApprovalQueueEvent.builder()
+                .type(ApprovalQueueEventType.CREATED)
+                .companyId(companyId)
+                .request(request)
+                .build()));
+    }
+
+    public void publishProcessed(List<ProcessedApproval> processed) {
+        Map<UUID, List<UUID>> requestIdsByCompany = processed.stream()
+                .collect(Collectors.groupingBy(
+                        approval -> Objects.requireNonNullElse(approval.getCompanyId(), NO_COMPANY),
+                        Collectors.mapping(ProcessedApproval::getRequestId, Collectors.toList())));
+
+        publishAfterCommit(requestIdsByCompany.entrySet().stream()
+                .map(entry -> ApprovalQueueEvent.builder()
+                        .type(ApprovalQueueEventType.PROCESSED)
+                        .companyId(NO_COMPANY.equals(entry.getKey()) ? null : entry.getKey())
+                        .requestIds(entry.getValue())
+                        .build())
+                .toList());
+    }
+
+    private void publishAfterCommit(List<ApprovalQueueEvent> events) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    events.forEach(channel::publish);
+                }
+            });
+        } else {
+            events.forEach(channel::publish);
+        }
+    }
+
+    private static List<UUID> recipients(ApprovalQueueEvent event) {
+        return event.getCompanyId() != null ? List.of(ALL_COMPANIES, event.getCompanyId()) : List.of(ALL_COMPANIES);
+    }
+
+    @Scheduled(fixedDelayString = "${requests.stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        channel.heartbeat();
+    }
+}
@@ -1,24 +1,49 @@
 package com.tsu.tsueventhubapi.service;
 
+import com.tsu.tsueventhubapi.dto.ApprovalRequestState;
+import com.tsu.tsueventhubapi.dto.BatchApprovalRequest;
+import com.tsu.tsueventhubapi.dto.BatchApprovalResponse;
+import com.tsu.tsueventhubapi.dto.BatchApprovalRowResult;
+import com.tsu.tsueventhubapi.dto.PendingUserResponse;
+import com.tsu.tsueventhubapi.dto.ProcessedApproval;
+import com.tsu.tsueventhubapi.enumeration.BatchApprovalStatus;
+import com.tsu.tsueventhubapi.enumeration.Role;
 import com.tsu.tsueventhubapi.enumeration.Status;
+import com.tsu.tsueventhubapi.exception.ConflictException;
 import com.tsu.tsueventhubapi.exception.ForbiddenException;
 import com.tsu.tsueventhubapi.exception.ResourceNotFoundException;
 import com.tsu.tsueventhubapi.model.ApprovalRequest;
 import com.tsu.tsueventhubapi.model.User;
 import com.tsu.tsueventhubapi.repository.ApprovalRequestRepository;
-import com.tsu.tsueventhubapi.repository.UserRepository;
+import com.tsu.tsueventhubapi.security.UserDetailsImpl;
+import com.tsu.tsueventhubapi.security.UserDetailsImplService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ApprovalService {
 
-    private final UserRepository userRepository;
     private final ApprovalRequestRepository approvalRequestRepository;
+    private final UserDetailsImplService userDetailsImplService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApprovalQueueBroadcaster approvalQueueBroadcaster;
+
+    static final int MAX_BATCH_IDS = 5000;
+    private static final int CHUNK_SIZE = 500;
+    private static final UUID NO_COMPANY = new UUID(0, 0);
 
     public void createApprovalRequest(User user) {
         ApprovalRequest request = ApprovalRequest.builder()
@@ -27,61 +52,180 @@ public class ApprovalService {
                 .processed(false)
                 .build();
 
-        approvalRequestRepository.save(request);
+        ApprovalRequest saved = approvalRequestRepository.save(request);
+
+        approvalQueueBroadcaster.publishCreated(new PendingUserResponse(
+                saved.getId(),
+                user.getName(),
+                user.getEmail(),
+                user.getRole(),
+                user.getTelegramUsername(),
+                user.getCompany() != null ? user.getCompany().getName() : null,
+                saved.getCreatedAt()
+        ), user.getCompany() != null ? user.getCompany().getId() : null);
     }
 
-    public void approveRequest(User currentUser, UUID requestId) {
-        ApprovalRequest request = approvalRequestRepository.findById(requestId)
-                .orElseThrow(() -> new ResourceNotFoundException("Request not found"));
+    /**
+     * The state check and both row updates happen in one conditional statement, so of two deans processing
+     * the same request concurrently exactly one succeeds and the other gets a conflict.
+     */
+    @Transactional
+    public void approveRequest(UserDetailsImpl currentUser, UUID requestId) {
+        if (currentUser.getRole() == Role.MANAGER && currentUser.getStatus() == Status.PENDING) {
+            throw new ForbiddenException("A manager with PENDING status cannot approve other users");
+        }
 
-        if (request.isProcessed()) {
-            throw new IllegalStateException("This request has already been processed");
+        List<ProcessedApproval> processed = approvalRequestRepository.approvePending(
+                List.of(requestId), currentUser.getId(), true, NO_COMPANY);
+        if (processed.isEmpty()) {
+            throw transitionFailure(currentUser, requestId, "You cannot approve yourself");
         }
+        userDetailsImplService.invalidate(processed.getFirst().getUserId());
+        approvalQueueBroadcaster.publishProcessed(processed);
+    }
 
-        User targetUser = request.getUser();
+    @Transactional
+    public void rejectRequest(UserDetailsImpl currentUser, UUID requestId, String reason) {
+        if (currentUser.getRole() == Role.MANAGER && currentUser.getStatus() == Status.PENDING) {
+            throw new ForbiddenException("A manager with PENDING status cannot reject other users");
+        }
 
-        if (currentUser.getId().equals(targetUser.getId())) {
-            throw new ForbiddenException("You cannot approve yourself");
+        List<ProcessedApproval> processed = approvalRequestRepository.rejectPending(
+                List.of(requestId), currentUser.getId(), true, NO_COMPANY, reason, Instant.now());
+        if (processed.isEmpty()) {
+            throw transitionFailure(currentUser, requestId, "You cannot reject yourself");
         }
+        userDetailsImplService.invalidate(processed.getFirst().getUserId());
+        approvalQueueBroadcaster.publishProcessed(processed);
+    }
 
-        if (currentUser.getRole().name().equals("MANAGER") &&
-                currentUser.getStatus().name().equals("PENDING")) {
-            throw new ForbiddenException("A manager with PENDING status cannot approve other users");
+    private RuntimeException transitionFailure(UserDetailsImpl currentUser, UUID requestId, String selfMessage) {
+        ApprovalRequestState state = approvalRequestRepository.findStatesByIdIn(List.of(requestId)).stream()
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Request not found"));
+
+        if (Boolean.TRUE.equals(state.getProcessed())) {
+            return new ConflictException("This request has already been processed");
         }
+        if (state.getUserId().equals(currentUser.getId())) {
+            return new ForbiddenException(selfMessage);
+        }
+        return new ResourceNotFoundException("Request not found");
+    }
 
-        request.setProcessed(true);
-        approvalRequestRepository.save(request);
+    public BatchApprovalResponse approveRequests(UserDetailsImpl currentUser, BatchApprovalRequest request) {
+        return processBatch(currentUser, request, true);
+    }
 
-        targetUser.setStatus(Status.APPROVED);
-        userRepository.save(targetUser);
+    public BatchApprovalResponse rejectRequests(UserDetailsImpl currentUser, BatchApprovalRequest request) {
+        return processBatch(currentUser, request, false);
     }
 
-    public void rejectRequest(User currentUser, UUID requestId, String reason) {
-        ApprovalRequest request = approvalRequestRepository.findById(requestId)
-                .orElseThrow(() -> new ResourceNotFoundException("Request not found"));
+    /**
+     * Each chunk of at most {@link #CHUNK_SIZE} requests is committed separately with one bulk statement,
+     * so an interrupted batch keeps what it has processed and memory does not grow with the backlog.
+     */
+    private BatchApprovalResponse processBatch(UserDetailsImpl currentUser, BatchApprovalRequest request,
+                                               boolean approve) {
+        if (currentUser.getRole() == Role.MANAGER && currentUser.getStatus() == Status.PENDING) {
+            throw new ForbiddenException("A manager with PENDING status cannot process other users");
+        }
+
+        // Managers only see and process requests of their own company
+        BatchScope scope = new BatchScope(currentUser.getId(), currentUser.getRole() == Role.DEAN,
+                currentUser.getRole() == Role.DEAN ? NO_COMPANY : currentUser.getCompanyId(),
+                approve, request.getReason());
 
-        if (request.isProcessed()) {
-            throw new IllegalStateException("This request has already been processed");
+        if (request.getRequestIds() != null && !request.getRequestIds().isEmpty()) {
+            return processIds(scope, request.getRequestIds());
         }
+        if (!request.isAllPending()) {
+            throw new IllegalArgumentException("Either requestIds or allPending must be provided");
+        }
+        return processAllPending(scope, request.getRole());
+    }
 
-        User targetUser = request.getUser();
+    private BatchApprovalResponse processIds(BatchScope scope, List<UUID> requestIds) {
+        List<UUID> ids = requestIds.stream().distinct().toList();
+        if (ids.size() > MAX_BATCH_IDS) {
+            throw new IllegalArgumentException("Batch processing is limited to " + MAX_BATCH_IDS + " requests");
+        }
 
-        if (currentUser.getId().equals(targetUser.getId())) {
-            throw new ForbiddenException("You cannot reject yourself");
+        List<BatchApprovalRowResult> rows = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()));
+            rows.addAll(transactionTemplate.execute(status -> processChunk(scope, chunk)));
         }
 
-        if (currentUser.getRole().name().equals("MANAGER") &&
-                currentUser.getStatus().name().equals("PENDING")) {
-            throw new ForbiddenException("A manager with PENDING status cannot reject other users");
+        int processed = (int) rows.stream()
+                .filter(row -> row.getStatus() == BatchApprovalStatus.APPROVED
+                        || row.getStatus() == BatchApprovalStatus.REJECTED)
+                .count();
+        return new BatchApprovalResponse(processed, rows.size() - processed, rows);
+    }
+
+    private List<BatchApprovalRowResult> processChunk(BatchScope scope, List<UUID> chunk) {
+        Set<UUID> processedIds = transition(scope, chunk).stream()
+                .map(ProcessedApproval::getRequestId)
+                .collect(Collectors.toSet());
+
+        List<UUID> skippedIds = chunk.stream().filter(id -> !processedIds.contains(id)).toList();
+        Map<UUID, ApprovalRequestState> states = skippedIds.isEmpty()
+                ? Map.of()
+                : approvalRequestRepository.findStatesByIdIn(skippedIds).stream()
+                        .collect(Collectors.toMap(ApprovalRequestState::getId, Function.identity()));
+
+        BatchApprovalStatus done = scope.approve() ? BatchApprovalStatus.APPROVED : BatchApprovalStatus.REJECTED;
+        return chunk.stream()
+                .map(id -> new BatchApprovalRowResult(id,
+                        processedIds.contains(id) ? done : skipReason(scope, states.get(id))))
+                .toList();
+    }
+
+    private static BatchApprovalStatus skipReason(BatchScope scope, ApprovalRequestState state) {
+        if (state == null) {
+            return BatchApprovalStatus.NOT_FOUND;
+        }
+        if (state.getUserId().equals(scope.actorId())
+                || (!scope.allCompanies() && !Objects.equals(scope.companyId(), state.getCompanyId()))) {
+            return BatchApprovalStatus.FORBIDDEN;
         }
-        
-        request.setProcessed(true);
-        request.setRejectionReason(reason);
-        approvalRequestRepository.save(request);
+        if (Boolean.TRUE.equals(state.getProcessed())) {
+            return BatchApprovalStatus.ALREADY_PROCESSED;
+        }
+        return BatchApprovalStatus.NOT_FOUND;
+    }
+
+    private BatchApprovalResponse processAllPending(BatchScope scope, Role role) {
+        int processed = 0;
+        while (true) {
+            // Rows are locked with SKIP LOCKED, so a concurrent single approval neither blocks nor double-processes
+            Integer chunkProcessed = transactionTemplate.execute(status -> {
+                List<UUID> chunk = approvalRequestRepository.lockPendingIds(scope.actorId(), scope.allCompanies(),
+                        scope.companyId(), role == null, role != null ? role.name() : "", CHUNK_SIZE);
+                return chunk.isEmpty() ? 0 : transition(scope, chunk).size();
+            });
+            if (chunkProcessed == null || chunkProcessed == 0) {
+                return new BatchApprovalResponse(processed, 0, List.of());
+            }
+            processed += chunkProcessed;
+        }
+    }
+
+    private List<ProcessedApproval> transition(BatchScope scope, List<UUID> ids) {
+        List<ProcessedApproval> processed = scope.approve()
+                ? approvalRequestRepository.approvePending(ids, scope.actorId(), scope.allCompanies(),
+                        scope.companyId())
+                : approvalRequestRepository.rejectPending(ids, scope.actorId(), scope.allCompanies(),
+                        scope.companyId(), scope.reason(), Instant.now());
 
-        targetUser.setStatus(Status.REJECTED);
-        targetUser.setDeletedAt(Instant.now());
-        userRepository.save(targetUser);
+        if (!processed.isEmpty()) {
+            userDetailsImplService.invalidateAll(processed.stream().map(ProcessedApproval::getUserId).toList());
+            approvalQueueBroadcaster.publishProcessed(processed);
+        }
+        return processed;
     }
 
+    private record BatchScope(UUID actorId, boolean allCompanies, UUID companyId, boolean approve, String reason) {
+    }
 }
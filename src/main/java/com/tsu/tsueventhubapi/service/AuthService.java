@@ -1,14 +1,18 @@
 package com.tsu.tsueventhubapi.service;
 
 import com.tsu.tsueventhubapi.dto.*;
+import com.tsu.tsueventhubapi.enumeration.RefreshTokenRotation;
 import com.tsu.tsueventhubapi.enumeration.Role;
 import com.tsu.tsueventhubapi.enumeration.Status;
 import com.tsu.tsueventhubapi.exception.ResourceNotFoundException;
+import com.tsu.tsueventhubapi.exception.UnauthorizedException;
 import com.tsu.tsueventhubapi.model.Company;
 import com.tsu.tsueventhubapi.model.User;
 import com.tsu.tsueventhubapi.repository.CompanyRepository;
 import com.tsu.tsueventhubapi.repository.UserRepository;
 import com.tsu.tsueventhubapi.security.JwtTokenProvider;
+import com.tsu.tsueventhubapi.security.PasswordHashingExecutor;
+import com.tsu.tsueventhubapi.security.TokenVersionService;
 import com.tsu.tsueventhubapi.security.UserDetailsImpl;
 import com.tsu.tsueventhubapi.security.UserDetailsImplService;
 import lombok.RequiredArgsConstructor;
@@ -35,6 +39,8 @@ public class AuthService {
     private final UserDetailsImplService userDetailsImplService;
     private final AuthenticationManager authenticationManager;
     private final ApprovalService approvalService;
+    private final TokenVersionService tokenVersionService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
 
     public TokenResponse register(RegisterRequest request) {
         validationService.validateRegisterRequest(request);
@@ -55,7 +61,7 @@ public class AuthService {
                 .telegramUsername(request.getTelegramUsername())
                 .name(request.getName())
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHashingExecutor.call(() -> passwordEncoder.encode(request.getPassword())))
                 .role(request.getRole())
                 .status(Status.PENDING);
 
@@ -71,60 +77,70 @@ public class AuthService {
 
         UserDetailsImpl userDetails = userDetailsImplService.loadUserById(savedUser.getId());
 
-        String accessToken = jwtTokenProvider.generateToken(userDetails);
+        String accessToken = jwtTokenProvider.generateToken(userDetails,
+                tokenVersionService.getCurrentVersion(savedUser.getId()));
         String refreshToken = jwtTokenProvider.generateRefreshToken(userDetails);
 
-        refreshTokenService.storeRefreshToken(
-                refreshToken,
-                savedUser.getId().toString(),
-                jwtTokenProvider.getRefreshExpirationMs()
-        );
+        refreshTokenService.issue(savedUser.getId(), refreshToken, jwtTokenProvider.getRefreshExpirationMs());
 
         return new TokenResponse(accessToken, refreshToken);
     }
 
     public TokenResponse refresh(String refreshToken) {
-        if (!refreshTokenService.validateRefreshToken(refreshToken)) {
-            throw new RuntimeException("Invalid or expired refresh token");
-        }
-
-        String userIdStr = refreshTokenService.getIdFromToken(refreshToken);
-        UUID userId = UUID.fromString(userIdStr);
+        UUID userId = refreshTokenOwner(refreshToken);
 
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
         UserDetailsImpl userDetails = userDetailsImplService.loadUserById(user.getId());
 
-        String newAccessToken = jwtTokenProvider.generateToken(userDetails);
         String newRefreshToken = jwtTokenProvider.generateRefreshToken(userDetails);
+        RefreshTokenRotation rotation = refreshTokenService.rotate(
+                userId, refreshToken, newRefreshToken, jwtTokenProvider.getRefreshExpirationMs());
+        if (rotation == RefreshTokenRotation.REUSED) {
+            throw new UnauthorizedException("Refresh token has already been used, the session was revoked");
+        }
+        if (rotation != RefreshTokenRotation.ROTATED) {
+            throw new RuntimeException("Invalid or expired refresh token");
+        }
 
-        refreshTokenService.deleteRefreshToken(refreshToken);
-        refreshTokenService.storeRefreshToken(
-                newRefreshToken,
-                user.getId().toString(),
-                jwtTokenProvider.getRefreshExpirationMs()
-        );
+        String newAccessToken = jwtTokenProvider.generateToken(userDetails,
+                tokenVersionService.getCurrentVersion(user.getId()));
 
         return new TokenResponse(newAccessToken, newRefreshToken);
     }
 
+    public void logout(String refreshToken) {
+        refreshTokenService.revoke(refreshTokenOwner(refreshToken), refreshToken);
+    }
+
+    public void logoutAll(String refreshToken) {
+        UUID userId = refreshTokenOwner(refreshToken);
+        refreshTokenService.revokeAll(userId);
+        // Access tokens already handed out stop working too
+        userDetailsImplService.invalidate(userId);
+    }
+
+    private UUID refreshTokenOwner(String refreshToken) {
+        return jwtTokenProvider.parseVerifiedClaims(refreshToken)
+                .filter(jwtTokenProvider::isRefreshToken)
+                .map(claims -> UUID.fromString(claims.getSubject()))
+                .orElseThrow(() -> new RuntimeException("Invalid or expired refresh token"));
+    }
+
     public TokenResponse login(LoginRequest request) {
         try {
-            Authentication authentication = authenticationManager.authenticate(
+            Authentication authentication = passwordHashingExecutor.call(() -> authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
-            );
+            ));
 
             UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
             
-            String accessToken = jwtTokenProvider.generateToken(userDetails);
+            String accessToken = jwtTokenProvider.generateToken(userDetails,
+                    tokenVersionService.getCurrentVersion(userDetails.getId()));
             String refreshToken = jwtTokenProvider.generateRefreshToken(userDetails);
             
-            refreshTokenService.storeRefreshToken(
-                    refreshToken,
-                    userDetails.getId().toString(),
-                    jwtTokenProvider.getRefreshExpirationMs()
-            );
+            refreshTokenService.issue(userDetails.getId(), refreshToken, jwtTokenProvider.getRefreshExpirationMs());
 
             return new TokenResponse(accessToken, refreshToken);
         } catch (AuthenticationException e) {
@@ -0,0 +1,227 @@
+package com.tsu.tsueventhubapi.service;
+
+import com.tsu.tsueventhubapi.dto.BulkRegistrationRequest;
+import com.tsu.tsueventhubapi.dto.BulkRegistrationResponse;
+import com.tsu.tsueventhubapi.dto.BulkRegistrationRowResult;
+import com.tsu.tsueventhubapi.enumeration.BulkRegistrationStatus;
+import com.tsu.tsueventhubapi.enumeration.Role;
+import com.tsu.tsueventhubapi.exception.ConflictException;
+import com.tsu.tsueventhubapi.exception.ForbiddenException;
+import com.tsu.tsueventhubapi.exception.ResourceNotFoundException;
+import com.tsu.tsueventhubapi.model.Event;
+import com.tsu.tsueventhubapi.model.Registration;
+import com.tsu.tsueventhubapi.model.User;
+import com.tsu.tsueventhubapi.repository.EventRepository;
+import com.tsu.tsueventhubapi.repository.RegistrationRepository;
+import com.tsu.tsueventhubapi.repository.UserRepository;
+import com.tsu.tsueventhubapi.repository.WaitlistEntryRepository;
+import com.tsu.tsueventhubapi.security.UserDetailsImpl;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class BulkRegistrationService {
+
+    static final int MAX_ROWS = 5000;
+
+    private final EventRepository eventRepository;
+    private final UserRepository userRepository;
+    private final RegistrationRepository registrationRepository;
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final WaitlistService waitlistService;
+    private final EventCache eventCache;
+    private final SeatAvailabilityBroadcaster seatAvailabilityBroadcaster;
+
+    @Transactional
+    public BulkRegistrationResponse registerStudents(UUID eventId, UserDetailsImpl manager,
+                                                     BulkRegistrationRequest request) {
+        List<String> inputs = new ArrayList<>();
+        if (request.getStudentIds() != null) {
+            request.getStudentIds().forEach(id -> inputs.add(String.valueOf(id)));
+        }
+        if (request.getEmails() != null) {
+            inputs.addAll(request.getEmails());
+        }
+        return register(eventId, manager, inputs);
+    }
+
+    @Transactional
+    public BulkRegistrationResponse registerStudentsFromCsv(UUID eventId, UserDetailsImpl manager,
+                                                            MultipartFile file) {
+        List<String> inputs = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            boolean firstLine = true;
+            while ((line = reader.readLine()) != null) {
+                String value = firstColumn(line);
+                if (firstLine) {
+                    firstLine = false;
+                    if (parseId(value) == null && !value.contains("@")) {
+                        continue;
+                    }
+                }
+                if (value.isEmpty()) {
+                    continue;
+                }
+                if (inputs.size() == MAX_ROWS) {
+                    throw new IllegalArgumentException("Bulk registration is limited to " + MAX_ROWS + " rows");
+                }
+                inputs.add(value);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not read CSV file");
+        }
+        return register(eventId, manager, inputs);
+    }
+
+    private BulkRegistrationResponse register(UUID eventId, UserDetailsImpl manager, List<String> inputs) {
+        if (inputs.isEmpty()) {
+            throw new IllegalArgumentException("No students to register");
+        }
+        if (inputs.size() > MAX_ROWS) {
+            throw new IllegalArgumentException("Bulk registration is limited to " + MAX_ROWS + " rows");
+        }
+
+        // Unlike single registrations, the event row is locked before any registration row, since the seat count
+        // must hold for the whole import. A student registering for the same event meanwhile takes the two in the
+        // opposite order; the database then aborts one of them as a deadlock, which the save below reports as a conflict
+        Event event = eventRepository.findLockedById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found"));
+        if (manager.getCompanyId() == null || !manager.getCompanyId().equals(event.getCompany().getId())) {
+            throw new ForbiddenException("Manager can only register students for events of their own company");
+        }
+
+        Instant now = Instant.now();
+        if (event.getRegistrationDeadline() != null && now.isAfter(event.getRegistrationDeadline())) {
+            throw new IllegalStateException("Registration deadline has passed");
+        }
+        if (event.getEndTime() != null && now.isAfter(event.getEndTime())) {
+            throw new IllegalStateException("Event has already ended");
+        }
+
+        // Students already waiting keep their place: free seats go to the waitlist first, the import gets the rest
+        int promoted = waitlistService.fillFreeSeats(eventId, now);
+
+        Set<UUID> ids = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (String input : inputs) {
+            UUID id = parseId(input);
+            if (id != null) {
+                ids.add(id);
+            } else if (input != null && input.contains("@")) {
+                emails.add(input.trim());
+            }
+        }
+
+        List<User> users = userRepository.findActiveByIdInOrEmailIn(ids, emails);
+        Map<UUID, User> usersById = users.stream().collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<String, User> usersByEmail = users.stream().collect(Collectors.toMap(User::getEmail, Function.identity()));
+
+        Map<UUID, Registration> existing = registrationRepository
+                .findByEventIdAndStudentIdIn(eventId, usersById.keySet()).stream()
+                .collect(Collectors.toMap(r -> r.getStudent().getId(), Function.identity()));
+
+        int seatsLeft = event.getCapacity() == null
+                ? Integer.MAX_VALUE
+                : Math.max(event.getCapacity() - event.getRegisteredCount() - promoted, 0);
+        Set<UUID> seen = new HashSet<>();
+        List<Registration> toSave = new ArrayList<>();
+        List<UUID> registeredIds = new ArrayList<>();
+        List<BulkRegistrationRowResult> rows = new ArrayList<>(inputs.size());
+
+        for (int i = 0; i < inputs.size(); i++) {
+            String input = inputs.get(i);
+            UUID id = parseId(input);
+            User user = id != null ? usersById.get(id)
+                    : input != null && input.contains("@") ? usersByEmail.get(input.trim()) : null;
+
+            BulkRegistrationStatus status;
+            if (id == null && (input == null || !input.contains("@"))) {
+                status = BulkRegistrationStatus.INVALID;
+            } else if (user == null) {
+                status = BulkRegistrationStatus.NOT_FOUND;
+            } else if (user.getRole() != Role.STUDENT) {
+                status = BulkRegistrationStatus.NOT_A_STUDENT;
+            } else if (!seen.add(user.getId())) {
+                status = BulkRegistrationStatus.DUPLICATE;
+            } else if (existing.containsKey(user.getId()) && existing.get(user.getId()).getUnregisteredAt() == null) {
+                status = BulkRegistrationStatus.ALREADY_REGISTERED;
+            } else if (seatsLeft == 0) {
+                status = BulkRegistrationStatus.NO_SEATS;
+            } else {
+                Registration registration = existing.get(user.getId());
+                if (registration != null) {
+                    registration.setUnregisteredAt(null);
+                    registration.setRegisteredAt(now);
+                    status = BulkRegistrationStatus.REACTIVATED;
+                } else {
+                    registration = Registration.builder()
+                            .student(user)
+                            .event(event)
+                            .registeredAt(now)
+                            .build();
+                    status = BulkRegistrationStatus.REGISTERED;
+                }
+                toSave.add(registration);
+                registeredIds.add(user.getId());
+                seatsLeft--;
+            }
+
+            rows.add(new BulkRegistrationRowResult(i + 1, input, user != null ? user.getId() : null, status));
+        }
+
+        if (!toSave.isEmpty()) {
+            try {
+                registrationRepository.saveAllAndFlush(toSave);
+            } catch (DataIntegrityViolationException | PessimisticLockingFailureException e) {
+                throw new ConflictException("Registrations for this event changed concurrently, please retry");
+            }
+            eventRepository.addSeats(eventId, toSave.size());
+            waitlistEntryRepository.deleteByEventIdAndStudentIdIn(eventId, registeredIds);
+        }
+        if (promoted > 0 || !toSave.isEmpty()) {
+            eventCache.evictDetail(eventId);
+            seatAvailabilityBroadcaster.markChanged(eventId);
+        }
+
+        return new BulkRegistrationResponse(eventId, toSave.size(), rows.size() - toSave.size(), rows);
+    }
+
+    private static String firstColumn(String line) {
+        String value = line.replace("\uFEFF", "");
+        int separator = value.indexOf(',');
+        if (separator < 0) {
+            separator = value.indexOf(';');
+        }
+        if (separator >= 0) {
+            value = value.substring(0, separator);
+        }
+        return value.replace("\"", "").trim();
+    }
+
+    private static UUID parseId(String input) {
+        if (input == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(input.trim());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
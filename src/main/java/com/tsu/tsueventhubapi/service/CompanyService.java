@@ -2,6 +2,7 @@ package com.tsu.tsueventhubapi.service;
 
 import com.tsu.tsueventhubapi.dto.CompanyResponse;
 import com.tsu.tsueventhubapi.dto.CreateCompanyRequest;
+import com.tsu.tsueventhubapi.dto.ResourceVersion;
 import com.tsu.tsueventhubapi.dto.UpdateCompanyRequest;
 import com.tsu.tsueventhubapi.enumeration.Role;
 import com.tsu.tsueventhubapi.exception.ForbiddenException;
@@ -9,8 +10,9 @@ import com.tsu.tsueventhubapi.exception.ResourceNotFoundException;
 import com.tsu.tsueventhubapi.model.Company;
 import com.tsu.tsueventhubapi.model.User;
 import com.tsu.tsueventhubapi.repository.CompanyRepository;
-import com.tsu.tsueventhubapi.repository.UserRepository;
+import com.tsu.tsueventhubapi.repository.EventRepository;
 import com.tsu.tsueventhubapi.security.UserDetailsImpl;
+import com.tsu.tsueventhubapi.security.UserDetailsImplService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -24,21 +26,21 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class CompanyService {
 
-    private final UserRepository userRepository;
     private final CompanyRepository companyRepository;
+    private final EventRepository eventRepository;
+    private final UserDetailsImplService userDetailsImplService;
+    private final EventCache eventCache;
+    private final SeatAvailabilityBroadcaster seatAvailabilityBroadcaster;
 
-    public Page<CompanyResponse> getCompaniesForUser(UUID userId, int page, int size) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        if (!"APPROVED".equals(user.getStatus().name())) {
+    public Page<CompanyResponse> getCompaniesForUser(UserDetailsImpl user, int page, int size) {
+        if (!user.isApproved()) {
             throw new ForbiddenException("Only approved users can access this resource");
         }
         
         return getCompaniesForCurrentUser(user, page, size);
     }
 
-    public Page<CompanyResponse> getCompaniesForCurrentUser(User user, int page, int size) {
+    public Page<CompanyResponse> getCompaniesForCurrentUser(UserDetailsImpl user, int page, int size) {
         if (user.getRole() == Role.DEAN) {
             return getAllCompanies(page, size);
         }
@@ -74,24 +76,32 @@ public class CompanyService {
         return toResponse(saved);
     }
 
-    public CompanyResponse getCompanyByIdForUser(UUID companyId, UserDetailsImpl currentUser) {
-        User user = userRepository.findById(currentUser.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
+    public CompanyResponse getCompanyByIdForUser(UUID companyId, UserDetailsImpl user) {
         Company company = companyRepository.findById(companyId)
                 .orElseThrow(() -> new ResourceNotFoundException("Company not found"));
+        checkViewAccess(companyId, user);
+        return toResponse(company);
+    }
+
+    public ResourceVersion getCompanyVersionForUser(UUID companyId, UserDetailsImpl user) {
+        ResourceVersion version = companyRepository.findVersionById(companyId)
+                .orElseThrow(() -> new ResourceNotFoundException("Company not found"));
+        checkViewAccess(companyId, user);
+        return version;
+    }
 
+    private static void checkViewAccess(UUID companyId, UserDetailsImpl user) {
         if (user.getRole() == Role.DEAN) {
-            return toResponse(company);
+            return;
         }
 
         if (user.getRole() == Role.MANAGER) {
-            if (user.getCompany() == null || !user.getCompany().getId().equals(companyId)) {
+            if (user.getCompanyId() == null || !user.getCompanyId().equals(companyId)) {
                 throw new ForbiddenException("Access Denied");
             }
-            return toResponse(company);
+            return;
         }
-        
+
         throw new ForbiddenException("Access Denied");
     }
 
@@ -101,6 +111,7 @@ public class CompanyService {
 
         company.setName(request.getName());
         Company updated = companyRepository.save(company);
+        eventCache.evictAll(eventRepository.findIdsByCompanyId(companyId), companyId);
 
         return toResponse(updated);
     }
@@ -109,7 +120,12 @@ public class CompanyService {
         Company company = companyRepository.findById(companyId)
                 .orElseThrow(() -> new ResourceNotFoundException("Company not found"));
 
+        List<UUID> managerIds = company.getManagers().stream().map(User::getId).toList();
+        List<UUID> eventIds = eventRepository.findIdsByCompanyId(companyId);
         companyRepository.delete(company);
+        userDetailsImplService.invalidateAll(managerIds);
+        eventCache.evictAll(eventIds, companyId);
+        eventIds.forEach(seatAvailabilityBroadcaster::markChanged);
     }
 
     private CompanyResponse toResponse(Company company) {
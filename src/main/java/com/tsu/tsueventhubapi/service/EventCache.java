@@ -0,0 +1,290 @@
+package com.tsu.tsueventhubapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tsu.tsueventhubapi.dto.EventResponseFull;
+import com.tsu.tsueventhubapi.dto.EventResponseSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Component
+public class EventCache {
+
+    private static final String CHANNEL = "events:cache-invalidation";
+    private static final String REMOTE_PREFIX = "events:";
+    private static final String DETAIL = "detail:";
+    private static final String PAGES = "pages:";
+    private static final String ALL_COMPANIES = "all";
+    private static final String GENERATION_KEY = REMOTE_PREFIX + "generation";
+
+    // Remote writes go through only if no eviction bumped the generation since the caller read it, so a load
+    // that raced a commit cannot put the pre-commit value back for the whole remote TTL
+    private static final RedisScript<Long> SET_IF_CURRENT = new DefaultRedisScript<>("""
+            if (redis.call('GET', KEYS[1]) or '0') ~= ARGV[1] then
+                return 0
+            end
+            redis.call('SET', KEYS[2], ARGV[2], 'PX', ARGV[3])
+            return 1
+            """, Long.class);
+
+    private static final RedisScript<Long> HSET_IF_CURRENT = new DefaultRedisScript<>("""
+            if (redis.call('GET', KEYS[1]) or '0') ~= ARGV[1] then
+                return 0
+            end
+            redis.call('HSET', KEYS[2], ARGV[2], ARGV[3])
+            if redis.call('PTTL', KEYS[2]) < 0 then
+                redis.call('PEXPIRE', KEYS[2], ARGV[4])
+            end
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Duration remoteTtl;
+    private final Duration remotePageTtl;
+    private final Cache<String, Object> local;
+    private final AtomicLong evictions = new AtomicLong();
+
+    public EventCache(StringRedisTemplate redisTemplate,
+                      ObjectMapper objectMapper,
+                      MeterRegistry meterRegistry,
+                      RedisMessageListenerContainer listenerContainer,
+                      @Value("${events.cache.local.maximum-size:10000}") long localMaximumSize,
+                      @Value("${events.cache.local.ttl:10s}") Duration localTtl,
+                      @Value("${events.cache.remote.ttl:5m}") Duration remoteTtl,
+                      @Value("${events.cache.remote.page-ttl:30s}") Duration remotePageTtl) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.remoteTtl = remoteTtl;
+        this.remotePageTtl = remotePageTtl;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(localMaximumSize)
+                .expireAfterWrite(localTtl)
+                .build();
+
+        listenerContainer.addMessageListener(
+                (message, pattern) -> evictLocal(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * Returns the cached event if it was built from the row state {@code expectedEtag}, loading it otherwise, so
+     * a conditional GET never serves a body older than the validators it has just checked.
+     */
+    public CachedDetail getDetail(UUID eventId, String expectedEtag, Supplier<CachedDetail> loader) {
+        String key = DETAIL + eventId;
+        long epoch = evictions.get();
+        CachedDetail cached = (CachedDetail) local.getIfPresent(key);
+        if (cached != null && cached.matches(expectedEtag)) {
+            record("detail", "local");
+            return cached;
+        }
+
+        cached = readRemote(REMOTE_PREFIX + key, CachedDetail.class);
+        if (cached != null && cached.matches(expectedEtag)) {
+            record("detail", "remote");
+            putLocal(key, cached, epoch);
+            return cached;
+        }
+
+        record("detail", "miss");
+        String generation = readGeneration();
+        CachedDetail loaded = loader.get();
+        writeRemote(REMOTE_PREFIX + key, loaded, generation);
+        putLocal(key, loaded, epoch);
+        return loaded;
+    }
+
+    public Page<EventResponseSummary> getPage(UUID companyId, Pageable pageable,
+                                              Supplier<Page<EventResponseSummary>> loader) {
+        String scope = PAGES + scopeOf(companyId);
+        String field = pageable.getPageNumber() + ":" + pageable.getPageSize();
+        String key = scope + ":" + field;
+        long epoch = evictions.get();
+
+        CachedPage cached = (CachedPage) local.getIfPresent(key);
+        if (cached != null) {
+            record("page", "local");
+            return cached.toPage(pageable);
+        }
+
+        cached = readRemotePage(REMOTE_PREFIX + scope, field);
+        if (cached != null) {
+            record("page", "remote");
+            putLocal(key, cached, epoch);
+            return cached.toPage(pageable);
+        }
+
+        record("page", "miss");
+        String generation = readGeneration();
+        Page<EventResponseSummary> loaded = loader.get();
+        cached = new CachedPage(loaded.getContent(), loaded.getTotalElements());
+        writeRemotePage(REMOTE_PREFIX + scope, field, cached, generation);
+        putLocal(key, cached, epoch);
+        return loaded;
+    }
+
+    // Same guard as PrincipalCache: a value loaded before an eviction must not outlive it
+    private void putLocal(String key, Object value, long epoch) {
+        if (evictions.get() == epoch) {
+            local.put(key, value);
+            // An eviction between the check and the put may have missed this entry
+            if (evictions.get() != epoch) {
+                local.invalidate(key);
+            }
+        }
+    }
+
+    public void evictEvent(UUID eventId, UUID companyId) {
+        evictAll(List.of(eventId), companyId);
+    }
+
+    public void evictAll(Collection<UUID> eventIds, UUID companyId) {
+        List<String> keys = new ArrayList<>();
+        eventIds.forEach(id -> keys.add(DETAIL + id));
+        keys.add(PAGES + scopeOf(companyId));
+        keys.add(PAGES + ALL_COMPANIES);
+        evictAfterCommit(keys);
+    }
+
+    // Seat changes are too frequent to flush list pages, which pick the new count up within their TTL
+    public void evictDetail(UUID eventId) {
+        evictAfterCommit(List.of(DETAIL + eventId));
+    }
+
+    private void evictAfterCommit(List<String> keys) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(keys);
+                }
+            });
+        } else {
+            evict(keys);
+        }
+    }
+
+    private void evict(List<String> keys) {
+        String message = String.join(",", keys);
+        evictLocal(message);
+        try {
+            // Bumped before the delete, so a load that read the old generation cannot write back in between
+            redisTemplate.opsForValue().increment(GENERATION_KEY);
+            redisTemplate.delete(keys.stream().map(key -> REMOTE_PREFIX + key).toList());
+            redisTemplate.convertAndSend(CHANNEL, message);
+        } catch (DataAccessException e) {
+            // Other nodes fall back to the short local TTL
+        }
+    }
+
+    private void evictLocal(String message) {
+        evictions.incrementAndGet();
+        for (String key : message.split(",")) {
+            if (key.startsWith(PAGES)) {
+                String prefix = key + ":";
+                local.asMap().keySet().removeIf(cached -> cached.startsWith(prefix));
+            } else {
+                local.invalidate(key);
+            }
+        }
+    }
+
+    private <T> T readRemote(String key, Class<T> type) {
+        try {
+            String json = redisTemplate.opsForValue().get(key);
+            return json != null ? objectMapper.readValue(json, type) : null;
+        } catch (DataAccessException | JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private String readGeneration() {
+        try {
+            return Objects.requireNonNullElse(redisTemplate.opsForValue().get(GENERATION_KEY), "0");
+        } catch (DataAccessException e) {
+            return null;
+        }
+    }
+
+    private void writeRemote(String key, Object value, String generation) {
+        if (generation == null) {
+            return;
+        }
+        try {
+            redisTemplate.execute(SET_IF_CURRENT, List.of(GENERATION_KEY, key),
+                    generation, objectMapper.writeValueAsString(value), String.valueOf(remoteTtl.toMillis()));
+        } catch (DataAccessException | JsonProcessingException e) {
+            // The value is still served from the local tier
+        }
+    }
+
+    private CachedPage readRemotePage(String key, String field) {
+        try {
+            Object json = redisTemplate.opsForHash().get(key, field);
+            return json != null ? objectMapper.readValue((String) json, CachedPage.class) : null;
+        } catch (DataAccessException | JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private void writeRemotePage(String key, String field, CachedPage page, String generation) {
+        if (generation == null) {
+            return;
+        }
+        try {
+            redisTemplate.execute(HSET_IF_CURRENT, List.of(GENERATION_KEY, key), generation, field,
+                    objectMapper.writeValueAsString(page), String.valueOf(remotePageTtl.toMillis()));
+        } catch (DataAccessException | JsonProcessingException e) {
+            // The value is still served from the local tier
+        }
+    }
+
+    private void record(String cache, String result) {
+        meterRegistry.counter("events.cache.requests", "cache", cache, "result", result).increment();
+    }
+
+    private static String scopeOf(UUID companyId) {
+        return companyId != null ? companyId.toString() : ALL_COMPANIES;
+    }
+
+    public record CachedDetail(EventResponseFull event, String etag, Instant lastModified) {
+        boolean matches(String expectedEtag) {
+            // Entries written before validators were cached have no event here and are reloaded
+            return event != null && expectedEtag.equals(etag);
+        }
+    }
+
+    record CachedPage(List<EventResponseSummary> content, long totalElements) {
+        Page<EventResponseSummary> toPage(Pageable pageable) {
+            return new PageImpl<>(content, pageable, totalElements);
+        }
+    }
+}
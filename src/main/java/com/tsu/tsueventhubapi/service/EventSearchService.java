@@ -0,0 +1,85 @@
+package com.tsu.tsueventhubapi.service;
+
+import com.tsu.tsueventhubapi.dto.CursorPage;
+import com.tsu.tsueventhubapi.dto.EventResponseSummary;
+import com.tsu.tsueventhubapi.dto.EventSearchHit;
+import com.tsu.tsueventhubapi.enumeration.Role;
+import com.tsu.tsueventhubapi.repository.EventRepository;
+import com.tsu.tsueventhubapi.security.UserDetailsImpl;
+import com.tsu.tsueventhubapi.util.SearchCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class EventSearchService {
+
+    private static final int MAX_QUERY_LENGTH = 200;
+    private static final Instant EARLIEST_START = Instant.EPOCH;
+    private static final Instant LATEST_START = Instant.parse("9999-12-31T00:00:00Z");
+    private static final UUID NO_ID = new UUID(0, 0);
+
+    private final EventRepository eventRepository;
+
+    public CursorPage<EventResponseSummary> search(UserDetailsImpl user, String query, UUID companyId,
+                                                   Instant from, Instant to, String cursor, int size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be empty");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search query must not exceed " + MAX_QUERY_LENGTH + " characters");
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' cannot be before 'from'");
+        }
+
+        if (user.getRole() == Role.MANAGER) {
+            if (user.getCompanyId() == null) {
+                throw new IllegalStateException("Manager is not assigned to any company");
+            }
+            companyId = user.getCompanyId();
+        }
+
+        SearchCursor after = cursor != null && !cursor.isBlank() ? SearchCursor.decode(cursor) : null;
+        List<EventSearchHit> hits = eventRepository.search(
+                query.trim(),
+                companyId == null,
+                companyId != null ? companyId : NO_ID,
+                from != null ? from : EARLIEST_START,
+                to != null ? to : LATEST_START,
+                after != null ? after.rank() : Double.MAX_VALUE,
+                after != null ? after.id() : NO_ID,
+                size + 1
+        );
+
+        boolean hasNext = hits.size() > size;
+        List<EventSearchHit> page = hasNext ? hits.subList(0, size) : hits;
+
+        Map<UUID, EventResponseSummary> summaries = eventRepository
+                .findSummariesByIdIn(page.stream().map(EventSearchHit::getId).toList()).stream()
+                .collect(Collectors.toMap(EventResponseSummary::getId, Function.identity()));
+        List<EventResponseSummary> content = page.stream()
+                .map(hit -> summaries.get(hit.getId()))
+                .filter(Objects::nonNull)
+                .toList();
+
+        String nextCursor = null;
+        if (hasNext) {
+            EventSearchHit last = page.getLast();
+            nextCursor = new SearchCursor(last.getRank(), last.getId()).encode();
+        }
+
+        return new CursorPage<>(content, size, hasNext, nextCursor, null);
+    }
+}
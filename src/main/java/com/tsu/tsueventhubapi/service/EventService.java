@@ -1,24 +1,41 @@
 package com.tsu.tsueventhubapi.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tsu.tsueventhubapi.dto.*;
+import com.tsu.tsueventhubapi.enumeration.EventTimeframe;
+import com.tsu.tsueventhubapi.enumeration.ExportFormat;
 import com.tsu.tsueventhubapi.enumeration.Role;
+import com.tsu.tsueventhubapi.exception.ConflictException;
 import com.tsu.tsueventhubapi.exception.ResourceNotFoundException;
 import com.tsu.tsueventhubapi.model.Company;
 import com.tsu.tsueventhubapi.model.Event;
-import com.tsu.tsueventhubapi.model.Registration;
 import com.tsu.tsueventhubapi.model.User;
 import com.tsu.tsueventhubapi.repository.EventRepository;
+import com.tsu.tsueventhubapi.repository.EventSpecifications;
 import com.tsu.tsueventhubapi.repository.RegistrationRepository;
 import com.tsu.tsueventhubapi.repository.UserRepository;
+import com.tsu.tsueventhubapi.security.UserDetailsImpl;
+import com.tsu.tsueventhubapi.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -27,25 +44,108 @@ public class EventService {
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
     private final RegistrationRepository registrationRepository;
+    private final WaitlistService waitlistService;
+    private final ObjectMapper objectMapper;
+    private final EventCache eventCache;
+    private final SeatAvailabilityBroadcaster seatAvailabilityBroadcaster;
+
+    public Page<EventResponseSummary> getAllEvents(UserDetailsImpl user, EventFilter filter, int page, int size) {
+        Sort.Direction direction = filter.getTimeframe() == EventTimeframe.PAST
+                ? Sort.Direction.DESC
+                : Sort.Direction.ASC;
+        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, "startTime", "id"));
+
+        UUID companyId = null;
+        if (user.getRole() == Role.MANAGER) {
+            if (user.getCompanyId() == null) {
+                throw new IllegalStateException("Manager is not assigned to any company");
+            }
+            companyId = user.getCompanyId();
+        }
 
-    public Page<EventResponseSummary> getAllEvents(UUID userId, int page, int size) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        if (filter.isEmpty()) {
+            UUID scope = companyId;
+            return eventCache.getPage(companyId, pageable, () -> scope != null
+                    ? eventRepository.findSummariesByCompanyId(scope, pageable)
+                    : eventRepository.findSummaries(pageable));
+        }
 
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Event> events;
-        
-        if (user.getRole().toString().contains("MANAGER")) {
-            Company company = user.getCompany();
-            if (company == null) {
+        if (filter.getFrom() != null && filter.getTo() != null && filter.getTo().isBefore(filter.getFrom())) {
+            throw new IllegalArgumentException("'to' cannot be before 'from'");
+        }
+
+        Instant now = Instant.now();
+        List<Specification<Event>> specs = new ArrayList<>();
+        if (companyId != null) {
+            specs.add(EventSpecifications.belongsToCompany(companyId));
+        }
+        if (filter.getTimeframe() != null) {
+            specs.add(switch (filter.getTimeframe()) {
+                case UPCOMING -> EventSpecifications.upcoming(now);
+                case ONGOING -> EventSpecifications.ongoing(now);
+                case PAST -> EventSpecifications.past(now);
+            });
+        }
+        if (filter.getFrom() != null) {
+            specs.add(EventSpecifications.startsAtOrAfter(filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            specs.add(EventSpecifications.startsBefore(filter.getTo()));
+        }
+        if (filter.isRegistrationOpen()) {
+            specs.add(EventSpecifications.registrationOpen(now));
+        }
+
+        return eventRepository.findAll(Specification.allOf(specs), pageable)
+                .map(EventService::toSummaryResponse);
+    }
+
+    public CursorPage<EventResponseSummary> getEventsByCursor(UserDetailsImpl user, String cursor, int size,
+                                                             boolean withTotal) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+
+        KeysetCursor after = cursor != null && !cursor.isBlank() ? KeysetCursor.decode(cursor) : null;
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<EventResponseSummary> events;
+        Long total = null;
+
+        if (user.getRole() == Role.MANAGER) {
+            UUID companyId = user.getCompanyId();
+            if (companyId == null) {
                 throw new IllegalStateException("Manager is not assigned to any company");
             }
-            events = eventRepository.findByCompanyId(company.getId(), pageable);
+            events = after == null
+                    ? eventRepository.findFirstKeysetPageByCompanyId(companyId, limit)
+                    : eventRepository.findNextKeysetPageByCompanyId(companyId, after.position(), after.id(), limit);
+            if (withTotal) {
+                total = eventRepository.countByCompanyId(companyId);
+            }
         } else {
-            events = eventRepository.findAll(pageable);
+            events = after == null
+                    ? eventRepository.findFirstKeysetPage(limit)
+                    : eventRepository.findNextKeysetPage(after.position(), after.id(), limit);
+            if (withTotal) {
+                total = eventRepository.count();
+            }
+        }
+
+        boolean hasNext = events.size() > size;
+        List<EventResponseSummary> content = hasNext ? events.subList(0, size) : events;
+        String nextCursor = null;
+        if (hasNext) {
+            EventResponseSummary last = content.getLast();
+            nextCursor = new KeysetCursor(last.getStartTime(), last.getId()).encode();
         }
 
-        return events.map(this::toSummaryResponse);
+        return new CursorPage<>(
+                content,
+                size,
+                hasNext,
+                nextCursor,
+                total
+        );
     }
 
     public EventResponseFull createEvent(CreateEventRequest request, UUID managerId) {
@@ -64,6 +164,7 @@ public class EventService {
                 .endTime(request.getEndTime())
                 .location(request.getLocation())
                 .registrationDeadline(request.getRegistrationDeadline())
+                .capacity(request.getCapacity())
                 .manager(manager)
                 .company(company)
                 .build();
@@ -71,32 +172,53 @@ public class EventService {
         validateEventTimes(event);
 
         Event saved = eventRepository.save(event);
+        eventCache.evictEvent(saved.getId(), company.getId());
 
-        return toResponse(saved);
+        return toFullResponse(saved);
     }
 
-    public EventResponseFull getEventById(UUID eventId, UUID userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    public Versioned<EventResponseFull> getEventById(UUID eventId, UserDetailsImpl user, ResourceVersion current) {
+        EventCache.CachedDetail detail = eventCache.getDetail(eventId, current.getEtag(),
+                () -> eventRepository.findWithCompanyById(eventId)
+                        .map(EventService::toCachedDetail)
+                        .orElseThrow(() -> new ResourceNotFoundException("Event not found")));
 
-        Event event = eventRepository.findById(eventId)
+        checkViewAccess(detail.event().getCompany().getId(), user);
+        return new Versioned<>(detail.event(), new ResourceVersion(detail.etag(), detail.lastModified()));
+    }
+
+    public ResourceVersion getEventVersion(UUID eventId, UserDetailsImpl user) {
+        ResourceVersion version = eventRepository.findVersionById(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found"));
-        
-        if (user.getRole().toString().contains("MANAGER")) {
-            Company company = user.getCompany();
-            if (company == null || !company.getId().equals(event.getCompany().getId())) {
+        checkViewAccess(version.getCompanyId(), user);
+        return version;
+    }
+
+    private static void checkViewAccess(UUID companyId, UserDetailsImpl user) {
+        if (user.getRole() == Role.MANAGER) {
+            if (user.getCompanyId() == null || !user.getCompanyId().equals(companyId)) {
                 throw new IllegalStateException("Manager can only view events from their own company");
             }
         }
+    }
+
+    public SseEmitter streamSeatAvailability(UUID eventId, UserDetailsImpl user) {
+        UUID companyId = eventRepository.findCompanyIdById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found"));
+        checkViewAccess(companyId, user);
 
-        return toFullResponse(event);
+        SeatAvailabilityResponse snapshot = eventRepository.findSeatAvailabilityByIdIn(List.of(eventId)).stream()
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found"));
+        return seatAvailabilityBroadcaster.subscribe(snapshot);
     }
 
+    @Transactional
     public EventResponseFull updateEvent(UUID eventId, UUID managerId, UpdateEventRequest request) {
         User manager = userRepository.findById(managerId)
                 .orElseThrow(() -> new ResourceNotFoundException("Manager not found"));
 
-        Event event = eventRepository.findById(eventId)
+        Event event = eventRepository.findWithCompanyById(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found"));
         
         if (event.getCompany() == null || !event.getCompany().getId().equals(manager.getCompany().getId())) {
@@ -121,10 +243,22 @@ public class EventService {
         if (request.getRegistrationDeadline() != null) {
             event.setRegistrationDeadline(request.getRegistrationDeadline());
         }
+        if (request.getCapacity() != null) {
+            if (request.getCapacity() < event.getRegisteredCount()) {
+                throw new IllegalArgumentException("Capacity cannot be less than the number of registered students");
+            }
+            event.setCapacity(request.getCapacity());
+        }
 
         validateEventTimes(event);
 
-        Event updated = eventRepository.save(event);
+        Event updated = eventRepository.saveAndFlush(event);
+        if (request.getCapacity() != null) {
+            int promoted = waitlistService.fillFreeSeats(eventId, Instant.now());
+            updated.setRegisteredCount(updated.getRegisteredCount() + promoted);
+        }
+        eventCache.evictEvent(eventId, event.getCompany().getId());
+        seatAvailabilityBroadcaster.markChanged(eventId);
         return toFullResponse(updated);
     }
 
@@ -140,12 +274,20 @@ public class EventService {
         }
 
         eventRepository.delete(event);
+        eventCache.evictEvent(eventId, event.getCompany().getId());
+        // The next flush finds the event gone and closes its availability streams
+        seatAvailabilityBroadcaster.markChanged(eventId);
     }
 
-    public Page<StudentResponse> getStudentsForEvent(UUID eventId, UUID userId, int page, int size) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-        
+    public Page<StudentResponse> getStudentsForEvent(UUID eventId, UserDetailsImpl user, int page, int size) {
+        Event event = checkStudentsAccess(eventId, user);
+
+        Pageable pageable = PageRequest.of(page, size);
+        return new PageImpl<>(registrationRepository.findStudentsByEventId(eventId, pageable),
+                pageable, event.getRegisteredCount());
+    }
+
+    public Event checkStudentsAccess(UUID eventId, UserDetailsImpl user) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found"));
 
@@ -153,74 +295,90 @@ public class EventService {
                 !event.getManager().getId().equals(user.getId())) {
             throw new SecurityException("You cannot access students of an event you did not create");
         }
+        return event;
+    }
 
-        Pageable pageable = PageRequest.of(page, size);
-        return registrationRepository.findByEventIdAndUnregisteredAtIsNull(eventId, pageable)
-                .map(reg -> {
-                    User student = reg.getStudent();
-                    return StudentResponse.builder()
-                            .id(student.getId())
-                            .name(student.getName())
-                            .email(student.getEmail())
-                            .build();
-                });
+    @Transactional(readOnly = true)
+    public void exportStudents(UUID eventId, ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write("id,name,email,telegramUsername,registeredAt\n");
+        }
+
+        try (Stream<AttendeeExportRow> rows = registrationRepository.streamAttendeesByEventId(eventId)) {
+            Iterator<AttendeeExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                AttendeeExportRow row = iterator.next();
+                if (format == ExportFormat.CSV) {
+                    writer.write(String.join(",",
+                            String.valueOf(row.getId()),
+                            csvField(row.getName()),
+                            csvField(row.getEmail()),
+                            csvField(row.getTelegramUsername()),
+                            String.valueOf(row.getRegisteredAt())));
+                } else {
+                    writer.write(objectMapper.writeValueAsString(row));
+                }
+                writer.write('\n');
+            }
+        }
+        writer.flush();
     }
 
+    @Transactional
     public void registerStudent(UUID eventId, UUID studentId) {
-        User student = userRepository.findById(studentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
+        Instant now = Instant.now();
+
+        int registered;
+        try {
+            registered = registrationRepository.upsertActiveRegistration(studentId, eventId, now);
+        } catch (DataIntegrityViolationException e) {
+            throw new ResourceNotFoundException("Event not found");
+        }
+        if (registered == 0) {
+            throw new ConflictException("Student is already registered");
+        }
+
+        if (eventRepository.reserveSeat(eventId, now) == 0) {
+            throw registrationRejection(eventId, now);
+        }
+        eventCache.evictDetail(eventId);
+        seatAvailabilityBroadcaster.markChanged(eventId);
+    }
 
+    @Transactional
+    public void unregisterStudent(UUID eventId, UUID studentId) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found"));
 
         Instant now = Instant.now();
-        if (event.getRegistrationDeadline() != null && now.isAfter(event.getRegistrationDeadline())) {
-            throw new IllegalStateException("Registration deadline has passed");
+        if (registrationRepository.markUnregistered(studentId, eventId, now) == 0) {
+            throw registrationRepository.existsByStudentIdAndEventId(studentId, eventId)
+                    ? new IllegalArgumentException("You have already unregistered from this event")
+                    : new IllegalArgumentException("You are not registered for this event");
         }
 
-        if (event.getEndTime() != null && now.isAfter(event.getEndTime())) {
-            throw new IllegalStateException("Event has already ended");
-        }
-
-        registrationRepository.findByStudentIdAndEventId(studentId, eventId)
-                .ifPresentOrElse(registration -> {
-                    if (registration.getUnregisteredAt() == null) {
-                        throw new IllegalStateException("Student is already registered");
-                    } else {
-                        registration.setUnregisteredAt(null);
-                        registration.setRegisteredAt(now);
-                        registrationRepository.save(registration);
-                    }
-                }, () -> {
-                    Registration registration = Registration.builder()
-                            .student(student)
-                            .event(event)
-                            .registeredAt(now)
-                            .build();
-                    registrationRepository.save(registration);
-                });
-    }
+        if (event.getStartTime() != null && now.isAfter(event.getStartTime())) {
+            throw new IllegalArgumentException("Cannot unregister after the event has started");
+        }
 
-    public void unregisterStudent(UUID eventId, UUID studentId) {
-        User student = userRepository.findById(studentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
+        eventRepository.releaseSeat(eventId);
+        waitlistService.fillFreeSeats(eventId, now);
+        eventCache.evictDetail(eventId);
+        seatAvailabilityBroadcaster.markChanged(eventId);
+    }
 
+    private RuntimeException registrationRejection(UUID eventId, Instant now) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found"));
 
-        Registration registration = registrationRepository.findByStudentIdAndEventId(student.getId(), event.getId())
-                .orElseThrow(() -> new IllegalArgumentException("You are not registered for this event"));
-        
-        if (registration.getUnregisteredAt() != null) {
-            throw new IllegalArgumentException("You have already unregistered from this event");
+        if (event.getRegistrationDeadline() != null && now.isAfter(event.getRegistrationDeadline())) {
+            return new IllegalStateException("Registration deadline has passed");
         }
-        
-        if (event.getStartTime() != null && Instant.now().isAfter(event.getStartTime())) {
-            throw new IllegalArgumentException("Cannot unregister after the event has started");
+        if (event.getEndTime() != null && now.isAfter(event.getEndTime())) {
+            return new IllegalStateException("Event has already ended");
         }
-
-        registration.setUnregisteredAt(Instant.now());
-        registrationRepository.save(registration);
+        return new ConflictException("Event is full");
     }
 
     private void validateEventTimes(Event event) {
@@ -237,34 +395,39 @@ public class EventService {
         }
     }
 
-    private EventResponseSummary toSummaryResponse(Event event) {
-        return EventResponseSummary.builder()
-                .id(event.getId())
-                .title(event.getTitle())
-                .startTime(event.getStartTime())
-                .location(event.getLocation())
-                .company(event.getCompany() != null
-                        ? new CompanyResponse(event.getCompany().getId(), event.getCompany().getName())
-                        : null)
-                .build();
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (!value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
     }
-    
-    private EventResponseFull toFullResponse(Event event) {
-        return EventResponseFull.builder()
-                .id(event.getId())
-                .title(event.getTitle())
-                .description(event.getDescription())
-                .startTime(event.getStartTime())
-                .endTime(event.getEndTime())
-                .location(event.getLocation())
-                .registrationDeadline(event.getRegistrationDeadline())
-                .company(event.getCompany() != null
-                        ? new CompanyResponse(event.getCompany().getId(), event.getCompany().getName())
-                        : null)
-                .build();
+
+    static EventResponseSummary toSummaryResponse(Event event) {
+        return new EventResponseSummary(
+                event.getId(),
+                event.getTitle(),
+                event.getStartTime(),
+                event.getLocation(),
+                event.getRegisteredCount(),
+                event.getCompany().getId(),
+                event.getCompany().getName()
+        );
+    }
+
+    private static EventCache.CachedDetail toCachedDetail(Event event) {
+        Company company = event.getCompany();
+        ResourceVersion version = new ResourceVersion(event.getId(), event.getVersion(), event.getRegisteredCount(),
+                event.getUpdatedAt(), company.getId(), company.getVersion(), company.getUpdatedAt());
+        return new EventCache.CachedDetail(toFullResponse(event), version.getEtag(), version.getLastModified());
     }
 
-    private EventResponseFull toResponse(Event event) {
+    static EventResponseFull toFullResponse(Event event) {
         return EventResponseFull.builder()
                 .id(event.getId())
                 .title(event.getTitle())
@@ -273,6 +436,8 @@ public class EventService {
                 .endTime(event.getEndTime())
                 .location(event.getLocation())
                 .registrationDeadline(event.getRegistrationDeadline())
+                .capacity(event.getCapacity())
+                .registeredCount(event.getRegisteredCount())
                 .company(event.getCompany() != null
                         ? new CompanyResponse(event.getCompany().getId(), event.getCompany().getName())
                         : null)
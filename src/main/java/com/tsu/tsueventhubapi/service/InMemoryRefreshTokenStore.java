@@ -0,0 +1,100 @@
+package com.tsu.tsueventhubapi.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tsu.tsueventhubapi.enumeration.RefreshTokenRotation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Process-local token families used while Redis is unreachable. Bounded by the number of users and expiring
+ * together with the refresh tokens themselves.
+ */
+@Component
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+
+    private record Entry(String family, boolean rotated, long expiresAtMs) {
+    }
+
+    private final Cache<UUID, Map<String, Entry>> families;
+
+    public InMemoryRefreshTokenStore(@Value("${security.refresh-tokens.fallback.maximum-users:100000}") long maximumUsers,
+                                     @Value("${JWT_REFRESH_EXPIRATION}") long refreshExpirationMs) {
+        this.families = Caffeine.newBuilder()
+                .maximumSize(maximumUsers)
+                .expireAfterWrite(Duration.ofMillis(refreshExpirationMs))
+                .build();
+    }
+
+    @Override
+    public void issue(UUID userId, String tokenHash, long expiresAtMs) {
+        families.asMap().compute(userId, (id, tokens) -> {
+            Map<String, Entry> live = live(tokens);
+            live.put(tokenHash, new Entry(UUID.randomUUID().toString(), false, expiresAtMs));
+            return live;
+        });
+    }
+
+    @Override
+    public RefreshTokenRotation rotate(UUID userId, String presentedHash, String replacementHash, long expiresAtMs) {
+        AtomicReference<RefreshTokenRotation> result = new AtomicReference<>();
+        families.asMap().compute(userId, (id, tokens) -> {
+            Map<String, Entry> live = live(tokens);
+            // A token unknown here was issued through Redis before the outage; its signature is already verified,
+            // so it is adopted into a new family. Reuse and logout of such tokens cannot be detected until recovery.
+            Entry presented = live.getOrDefault(presentedHash,
+                    new Entry(UUID.randomUUID().toString(), false, expiresAtMs));
+
+            if (presented.rotated()) {
+                live.values().removeIf(entry -> entry.family().equals(presented.family()));
+                result.set(RefreshTokenRotation.REUSED);
+            } else {
+                live.put(presentedHash, new Entry(presented.family(), true, presented.expiresAtMs()));
+                live.put(replacementHash, new Entry(presented.family(), false, expiresAtMs));
+                result.set(RefreshTokenRotation.ROTATED);
+            }
+            return live.isEmpty() ? null : live;
+        });
+        return result.get();
+    }
+
+    @Override
+    public void revoke(UUID userId, String tokenHash) {
+        families.asMap().computeIfPresent(userId, (id, tokens) -> {
+            Map<String, Entry> live = live(tokens);
+            Entry presented = live.get(tokenHash);
+            if (presented != null) {
+                live.values().removeIf(entry -> entry.family().equals(presented.family()));
+            }
+            return live.isEmpty() ? null : live;
+        });
+    }
+
+    @Override
+    public void revokeAll(UUID userId) {
+        families.invalidate(userId);
+    }
+
+    public void clear() {
+        families.invalidateAll();
+    }
+
+    private static Map<String, Entry> live(Map<String, Entry> tokens) {
+        Map<String, Entry> live = new HashMap<>();
+        if (tokens != null) {
+            long now = System.currentTimeMillis();
+            tokens.forEach((hash, entry) -> {
+                if (entry.expiresAtMs() > now) {
+                    live.put(hash, entry);
+                }
+            });
+        }
+        return live;
+    }
+}
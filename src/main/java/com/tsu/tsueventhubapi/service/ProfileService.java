@@ -1,14 +1,15 @@
 package com.tsu.tsueventhubapi.service;
 
-import com.tsu.tsueventhubapi.dto.CompanyResponse;
 import com.tsu.tsueventhubapi.dto.EventResponseSummary;
+import com.tsu.tsueventhubapi.dto.ResourceVersion;
 import com.tsu.tsueventhubapi.dto.UserResponse;
 import com.tsu.tsueventhubapi.exception.ForbiddenException;
 import com.tsu.tsueventhubapi.exception.ResourceNotFoundException;
-import com.tsu.tsueventhubapi.model.Registration;
 import com.tsu.tsueventhubapi.model.User;
 import com.tsu.tsueventhubapi.repository.RegistrationRepository;
 import com.tsu.tsueventhubapi.repository.UserRepository;
+import com.tsu.tsueventhubapi.security.PrincipalCache;
+import com.tsu.tsueventhubapi.security.UserDetailsImplService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -17,6 +18,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -27,6 +29,8 @@ public class ProfileService {
     private final UserRepository userRepository;
     private final RegistrationRepository registrationRepository;
     private final ValidationService validationService;
+    private final UserDetailsImplService userDetailsImplService;
+    private final PrincipalCache principalCache;
 
     public UserResponse getCurrentUser(UUID userId) {
         User user = userRepository.findById(userId)
@@ -35,6 +39,11 @@ public class ProfileService {
         return UserResponse.fromEntity(user);
     }
 
+    public ResourceVersion getCurrentUserVersion(UUID userId) {
+        return userRepository.findVersionById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+    }
+
     @Transactional
     public User updateProfile(UUID userId, String newName, String newEmail, String telegramUsername) {
         User user = userRepository.findById(userId)
@@ -46,31 +55,24 @@ public class ProfileService {
 
         validationService.validateProfileUpdate(user.getRole(), telegramUsername);
 
+        // Of the edited fields only the email is a token claim, so other edits leave issued tokens valid
+        boolean emailChanged = !Objects.equals(user.getEmail(), newEmail);
+
         user.setName(newName);
         user.setEmail(newEmail);
         user.setTelegramUsername(telegramUsername);
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        if (emailChanged) {
+            userDetailsImplService.invalidate(userId);
+        } else {
+            principalCache.evict(userId);
+        }
+        return saved;
     }
 
     public Page<EventResponseSummary> getStudentEvents(UUID studentId, int page, int size) {
-        userRepository.findById(studentId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
         Pageable pageable = PageRequest.of(page, size);
-        Page<Registration> registrations = registrationRepository.findByStudentIdAndUnregisteredAtIsNull(studentId, pageable);
-
-        return registrations.map(reg -> {
-            var event = reg.getEvent();
-            return EventResponseSummary.builder()
-                    .id(event.getId())
-                    .title(event.getTitle())
-                    .startTime(event.getStartTime())
-                    .location(event.getLocation())
-                    .company(event.getCompany() != null
-                            ? new CompanyResponse(event.getCompany().getId(), event.getCompany().getName())
-                            : null)
-                    .build();
-        });
+        return registrationRepository.findEventSummariesByStudentId(studentId, pageable);
     }
 }
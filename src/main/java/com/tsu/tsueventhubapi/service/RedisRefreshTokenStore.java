@@ -0,0 +1,130 @@
+package com.tsu.tsueventhubapi.service;
+
+import com.tsu.tsueventhubapi.enumeration.RefreshTokenRotation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Refresh token families live in one Redis hash per user: the field is the token hash and the value is
+ * {@code family|state|expiresAtMs}, where a family is the chain of tokens rotated from a single login and the
+ * state is {@code A} for the current token or {@code R} for one that has already been exchanged.
+ * Presenting a rotated token again means it leaked, so its whole family is revoked.
+ */
+@Component
+@RequiredArgsConstructor
+public class RedisRefreshTokenStore implements RefreshTokenStore {
+
+    private static final String KEY_PREFIX = "refresh_tokens:";
+
+    // Drops entries past their expiry; the hash itself only expires once the user stops refreshing
+    private static final String PRUNE = """
+            local function prune(key, now)
+                local entries = redis.call('HGETALL', key)
+                local live = {}
+                for i = 1, #entries, 2 do
+                    local expiresAt = tonumber(string.match(entries[i + 1], '|(%d+)$'))
+                    if expiresAt <= now then
+                        redis.call('HDEL', key, entries[i])
+                    else
+                        live[entries[i]] = entries[i + 1]
+                    end
+                end
+                return live
+            end
+
+            local function revokeFamily(key, live, family)
+                for field, value in pairs(live) do
+                    if string.find(value, family .. '|', 1, true) == 1 then
+                        redis.call('HDEL', key, field)
+                    end
+                end
+            end
+            """;
+
+    private static final RedisScript<Long> ISSUE = new DefaultRedisScript<>(PRUNE + """
+            prune(KEYS[1], tonumber(ARGV[4]))
+            redis.call('HSET', KEYS[1], ARGV[1], ARGV[2])
+            redis.call('PEXPIRE', KEYS[1], ARGV[3])
+            return 1
+            """, Long.class);
+
+    private static final RedisScript<String> ROTATE = new DefaultRedisScript<>(PRUNE + """
+            local live = prune(KEYS[1], tonumber(ARGV[5]))
+            local presented = live[ARGV[1]]
+            if not presented then
+                return 'INVALID'
+            end
+
+            local family, state, expiresAt = string.match(presented, '^([^|]+)|(%a)|(%d+)$')
+            if state ~= 'A' then
+                revokeFamily(KEYS[1], live, family)
+                return 'REUSED'
+            end
+
+            redis.call('HSET', KEYS[1], ARGV[1], family .. '|R|' .. expiresAt,
+                    ARGV[2], family .. '|A|' .. ARGV[3])
+            redis.call('PEXPIRE', KEYS[1], ARGV[4])
+            return 'ROTATED'
+            """, String.class);
+
+    private static final RedisScript<Long> REVOKE = new DefaultRedisScript<>(PRUNE + """
+            local live = prune(KEYS[1], tonumber(ARGV[2]))
+            local presented = live[ARGV[1]]
+            if not presented then
+                return 0
+            end
+            revokeFamily(KEYS[1], live, string.match(presented, '^([^|]+)|'))
+            return 1
+            """, Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    @Override
+    public void issue(UUID userId, String tokenHash, long expiresAtMs) {
+        long now = System.currentTimeMillis();
+        if (expiresAtMs <= now) {
+            return;
+        }
+        String value = UUID.randomUUID() + "|A|" + expiresAtMs;
+        redisTemplate.execute(ISSUE, List.of(key(userId)),
+                tokenHash, value, String.valueOf(expiresAtMs - now), String.valueOf(now));
+    }
+
+    @Override
+    public RefreshTokenRotation rotate(UUID userId, String presentedHash, String replacementHash, long expiresAtMs) {
+        long now = System.currentTimeMillis();
+        if (expiresAtMs <= now) {
+            return RefreshTokenRotation.INVALID;
+        }
+        String result = redisTemplate.execute(ROTATE, List.of(key(userId)),
+                presentedHash, replacementHash, String.valueOf(expiresAtMs),
+                String.valueOf(expiresAtMs - now), String.valueOf(now));
+        return result != null ? RefreshTokenRotation.valueOf(result) : RefreshTokenRotation.INVALID;
+    }
+
+    @Override
+    public void revoke(UUID userId, String tokenHash) {
+        redisTemplate.execute(REVOKE, List.of(key(userId)), tokenHash, String.valueOf(System.currentTimeMillis()));
+    }
+
+    @Override
+    public void revokeAll(UUID userId) {
+        redisTemplate.delete(key(userId));
+    }
+
+    public void ping() {
+        redisTemplate.execute((RedisCallback<String>) RedisConnection::ping);
+    }
+
+    private static String key(UUID userId) {
+        return KEY_PREFIX + userId;
+    }
+}
@@ -1,30 +1,190 @@
 package com.tsu.tsueventhubapi.service;
 
-import lombok.RequiredArgsConstructor;
-import org.springframework.data.redis.core.RedisTemplate;
+import com.tsu.tsueventhubapi.enumeration.RefreshTokenRotation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.util.concurrent.TimeUnit;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
+/**
+ * Keeps refresh tokens in Redis and falls back to {@link InMemoryRefreshTokenStore} when a Redis call fails.
+ * The first failure opens the circuit, so later requests stop waiting for the Redis timeout. While it is open,
+ * writes are applied in memory and queued; once Redis answers again the queue is replayed in order and Redis
+ * becomes the store of record again. A write that does not fit in the queue is lost for Redis; a lost logout is
+ * remembered per user instead, and all of that user's tokens are revoked on replay.
+ */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class RefreshTokenService {
 
-    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisRefreshTokenStore redisStore;
+    private final InMemoryRefreshTokenStore fallbackStore;
+    private final BlockingQueue<Consumer<RefreshTokenStore>> pendingWrites;
+    private final Duration openDuration;
+    private final Set<UUID> revokeAllOnReplay = ConcurrentHashMap.newKeySet();
+    private final Counter droppedWrites;
+    private final ReadWriteLock modeLock = new ReentrantReadWriteLock();
 
-    public void storeRefreshToken(String token, String id, long expirationMs) {
-        redisTemplate.opsForValue().set(token, id, expirationMs, TimeUnit.MILLISECONDS);
+    private volatile boolean degraded;
+    private volatile long retryAtMs;
+    private volatile boolean overflowReported;
+
+    public RefreshTokenService(RedisRefreshTokenStore redisStore,
+                               InMemoryRefreshTokenStore fallbackStore,
+                               MeterRegistry meterRegistry,
+                               @Value("${security.refresh-tokens.fallback.replay-capacity:100000}") int replayCapacity,
+                               @Value("${security.refresh-tokens.fallback.open-duration:10s}") Duration openDuration) {
+        this.redisStore = redisStore;
+        this.fallbackStore = fallbackStore;
+        this.pendingWrites = new ArrayBlockingQueue<>(replayCapacity);
+        this.openDuration = openDuration;
+        this.droppedWrites = meterRegistry.counter("security.refresh-tokens.fallback.dropped-writes");
+    }
+
+    public void issue(UUID userId, String token, long expirationMs) {
+        String tokenHash = hash(token);
+        long expiresAtMs = System.currentTimeMillis() + expirationMs;
+        execute(store -> {
+            store.issue(userId, tokenHash, expiresAtMs);
+            return null;
+        });
+    }
+
+    public RefreshTokenRotation rotate(UUID userId, String presentedToken, String replacementToken, long expirationMs) {
+        String presentedHash = hash(presentedToken);
+        String replacementHash = hash(replacementToken);
+        long expiresAtMs = System.currentTimeMillis() + expirationMs;
+        return execute(store -> store.rotate(userId, presentedHash, replacementHash, expiresAtMs));
+    }
+
+    public void revoke(UUID userId, String token) {
+        String tokenHash = hash(token);
+        execute(store -> {
+            store.revoke(userId, tokenHash);
+            return null;
+        }, userId);
+    }
+
+    public void revokeAll(UUID userId) {
+        execute(store -> {
+            store.revokeAll(userId);
+            return null;
+        }, userId);
+    }
+
+    private <T> T execute(Function<RefreshTokenStore, T> operation) {
+        return execute(operation, null);
+    }
+
+    // revokedUserId is set for revocations, which must reach Redis even when the replay queue is full
+    private <T> T execute(Function<RefreshTokenStore, T> operation, UUID revokedUserId) {
+        while (true) {
+            if (!degraded) {
+                try {
+                    return operation.apply(redisStore);
+                } catch (DataAccessException e) {
+                    open();
+                }
+            }
+
+            modeLock.readLock().lock();
+            try {
+                // Re-checked under the lock: a replay may have switched back to Redis in the meantime
+                if (degraded) {
+                    T result = operation.apply(fallbackStore);
+                    if (!pendingWrites.offer(operation::apply)) {
+                        dropped(revokedUserId);
+                    }
+                    return result;
+                }
+            } finally {
+                modeLock.readLock().unlock();
+            }
+        }
+    }
+
+    private void dropped(UUID revokedUserId) {
+        droppedWrites.increment();
+        if (revokedUserId != null) {
+            revokeAllOnReplay.add(revokedUserId);
+        }
+        if (!overflowReported) {
+            overflowReported = true;
+            // Issued and rotated tokens that are not replayed are unknown to Redis, so those users sign in again
+            log.warn("Refresh token replay queue is full; further writes are kept in memory only until Redis recovers");
+        }
+    }
+
+    private void open() {
+        retryAtMs = System.currentTimeMillis() + openDuration.toMillis();
+        degraded = true;
+    }
+
+    @Scheduled(fixedDelayString = "${security.refresh-tokens.fallback.replay-interval-ms:2000}")
+    public void replayPendingWrites() {
+        if (!degraded || System.currentTimeMillis() < retryAtMs) {
+            return;
+        }
+
+        try {
+            redisStore.ping();
+            // Drain without blocking requests first, then take the write lock only for the tail and the switch
+            drainPendingWrites();
+            modeLock.writeLock().lock();
+            try {
+                drainPendingWrites();
+                // After the queue, so revocations that did not fit also cover every token replayed before them
+                revokeDroppedLogouts();
+                overflowReported = false;
+                fallbackStore.clear();
+                degraded = false;
+            } finally {
+                modeLock.writeLock().unlock();
+            }
+        } catch (DataAccessException e) {
+            open();
+        }
     }
 
-    public boolean validateRefreshToken(String token) {
-        return redisTemplate.hasKey(token);
+    private void drainPendingWrites() {
+        Consumer<RefreshTokenStore> write;
+        while ((write = pendingWrites.peek()) != null) {
+            write.accept(redisStore);
+            pendingWrites.poll();
+        }
     }
 
-    public String getIdFromToken(String token) {
-        return redisTemplate.opsForValue().get(token);
+    private void revokeDroppedLogouts() {
+        for (UUID userId : revokeAllOnReplay) {
+            redisStore.revokeAll(userId);
+            revokeAllOnReplay.remove(userId);
+        }
     }
 
-    public void deleteRefreshToken(String token) {
-        redisTemplate.delete(token);
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
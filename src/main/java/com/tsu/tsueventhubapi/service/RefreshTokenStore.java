@@ -0,0 +1,20 @@
+package com.tsu.tsueventhubapi.service;
+
+import com.tsu.tsueventhubapi.enumeration.RefreshTokenRotation;
+
+import java.util.UUID;
+
+/**
+ * Storage of refresh token families. Tokens are addressed by their hash; a family is the chain of tokens
+ * rotated from a single login.
+ */
+public interface RefreshTokenStore {
+
+    void issue(UUID userId, String tokenHash, long expiresAtMs);
+
+    RefreshTokenRotation rotate(UUID userId, String presentedHash, String replacementHash, long expiresAtMs);
+
+    void revoke(UUID userId, String tokenHash);
+
+    void revokeAll(UUID userId);
+}
@@ -0,0 +1,32 @@
+package com.tsu.tsueventhubapi.service;
+
+import com.tsu.tsueventhubapi.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class RegisteredCountReconciler {
+
+    private final EventRepository eventRepository;
+    private final EventCache eventCache;
+    private final SeatAvailabilityBroadcaster seatAvailabilityBroadcaster;
+    private final TransactionTemplate transactionTemplate;
+
+    @Scheduled(cron = "${events.registered-count.reconcile-cron:0 17 * * * *}")
+    public void reconcile() {
+        for (UUID eventId : eventRepository.findIdsWithRegisteredCountDrift()) {
+            // Recount under the event row lock so in-flight seat updates land on top of the repaired value
+            transactionTemplate.executeWithoutResult(status -> eventRepository.findLockedById(eventId)
+                    .ifPresent(event -> {
+                        eventRepository.recountRegistrations(eventId);
+                        eventCache.evictDetail(eventId);
+                        seatAvailabilityBroadcaster.markChanged(eventId);
+                    }));
+        }
+    }
+}
@@ -1,14 +1,14 @@
 package com.tsu.tsueventhubapi.service;
 
+import com.tsu.tsueventhubapi.dto.BatchApprovalRequest;
+import com.tsu.tsueventhubapi.dto.BatchApprovalResponse;
+import com.tsu.tsueventhubapi.dto.CursorPage;
 import com.tsu.tsueventhubapi.dto.PendingUserResponse;
 import com.tsu.tsueventhubapi.exception.ForbiddenException;
-import com.tsu.tsueventhubapi.exception.ResourceNotFoundException;
 import com.tsu.tsueventhubapi.exception.UnauthorizedException;
-import com.tsu.tsueventhubapi.model.ApprovalRequest;
-import com.tsu.tsueventhubapi.model.User;
 import com.tsu.tsueventhubapi.repository.ApprovalRequestRepository;
-import com.tsu.tsueventhubapi.repository.UserRepository;
 import com.tsu.tsueventhubapi.security.UserDetailsImpl;
+import com.tsu.tsueventhubapi.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -16,6 +16,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.UUID;
@@ -26,46 +27,89 @@ import java.util.stream.Collectors;
 public class RequestService {
 
     private final ApprovalService approvalService;
-    private final UserRepository userRepository;
     private final ApprovalRequestRepository approvalRequestRepository;
+    private final ApprovalQueueBroadcaster approvalQueueBroadcaster;
     
     public Page<PendingUserResponse> getPendingUsers(int page, int size) {
-        User currentUser = getCurrentUser();
+        UserDetailsImpl currentUser = getCurrentPrincipal();
 
         Pageable pageable = PageRequest.of(page, size);
-        Page<ApprovalRequest> requests;
+        return switch (currentUser.getRole()) {
+            case DEAN -> approvalRequestRepository.findPendingSummaries(pageable);
+            case MANAGER -> approvalRequestRepository.findPendingSummariesByCompanyId(currentUser.getCompanyId(), pageable);
+            default -> throw new ForbiddenException("Access Denied");
+        };
+    }
+
+    public CursorPage<PendingUserResponse> getPendingQueue(String cursor, int size, boolean withTotal) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+
+        UserDetailsImpl currentUser = getCurrentPrincipal();
+        KeysetCursor after = cursor != null && !cursor.isBlank() ? KeysetCursor.decode(cursor) : null;
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<PendingUserResponse> requests;
+        Long total = null;
+
         switch (currentUser.getRole()) {
-            case DEAN -> requests = approvalRequestRepository.findByProcessedFalseAndUser_DeletedAtIsNull(pageable);
-            case MANAGER -> requests = approvalRequestRepository.findByProcessedFalseAndUser_Company(currentUser.getCompany(), pageable);
+            case DEAN -> {
+                requests = after == null
+                        ? approvalRequestRepository.findFirstQueuePage(limit)
+                        : approvalRequestRepository.findNextQueuePage(after.position(), after.id(), limit);
+                if (withTotal) {
+                    total = approvalRequestRepository.countPending();
+                }
+            }
+            case MANAGER -> {
+                UUID companyId = currentUser.getCompanyId();
+                requests = after == null
+                        ? approvalRequestRepository.findFirstQueuePageByCompanyId(companyId, limit)
+                        : approvalRequestRepository.findNextQueuePageByCompanyId(
+                                companyId, after.position(), after.id(), limit);
+                if (withTotal) {
+                    total = approvalRequestRepository.countPendingByCompanyId(companyId);
+                }
+            }
             default -> throw new ForbiddenException("Access Denied");
         }
 
-        return requests.map(r -> new PendingUserResponse(
-                r.getId(),
-                r.getUser().getName(),
-                r.getUser().getEmail(),
-                r.getUser().getRole(),
-                r.getUser().getTelegramUsername(),
-                r.getUser().getCompany() != null ? r.getUser().getCompany().getName() : null
-        ));
+        boolean hasNext = requests.size() > size;
+        List<PendingUserResponse> content = hasNext ? requests.subList(0, size) : requests;
+        String nextCursor = null;
+        if (hasNext) {
+            PendingUserResponse last = content.getLast();
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getRequestId()).encode();
+        }
+
+        return new CursorPage<>(content, size, hasNext, nextCursor, total);
+    }
+
+    public SseEmitter streamPendingQueue() {
+        return approvalQueueBroadcaster.subscribe(getCurrentPrincipal());
     }
 
     public void approveUser(UUID requestId) {
-        User currentUser = getCurrentUser();
-        approvalService.approveRequest(currentUser, requestId);
+        approvalService.approveRequest(getCurrentPrincipal(), requestId);
     }
 
     public void rejectUser(UUID requestId, String reason) {
-        User currentUser = getCurrentUser();
-        approvalService.rejectRequest(currentUser, requestId, reason);
+        approvalService.rejectRequest(getCurrentPrincipal(), requestId, reason);
+    }
+
+    public BatchApprovalResponse approveUsers(BatchApprovalRequest request) {
+        return approvalService.approveRequests(getCurrentPrincipal(), request);
+    }
+
+    public BatchApprovalResponse rejectUsers(BatchApprovalRequest request) {
+        return approvalService.rejectRequests(getCurrentPrincipal(), request);
     }
 
-    private User getCurrentUser() {
+    private UserDetailsImpl getCurrentPrincipal() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth == null || !(auth.getPrincipal() instanceof UserDetailsImpl userDetails)) {
             throw new UnauthorizedException("Unauthorized");
         }
-        return userRepository.findById(userDetails.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("Current user not found"));
+        return userDetails;
     }
 }
@@ -0,0 +1,98 @@
+package com.tsu.tsueventhubapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tsu.tsueventhubapi.dto.SeatAvailabilityResponse;
+import com.tsu.tsueventhubapi.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pushes seat counts of events to SSE subscribers. Changes only mark an event dirty; a scheduled flush reads
+ * all dirty events in one query and publishes one message per event, so a burst of registrations within a flush
+ * interval costs a single message. A dirty event that no longer exists was deleted, and its streams are closed.
+ */
+@Component
+public class SeatAvailabilityBroadcaster {
+
+    private static final String CHANNEL = "events:seat-availability";
+    private static final String EVENT_NAME = "availability";
+    private static final int FLUSH_BATCH_SIZE = 500;
+
+    private final EventRepository eventRepository;
+    private final SseChannel<SeatAvailabilityResponse> channel;
+    private final Set<UUID> dirtyEventIds = ConcurrentHashMap.newKeySet();
+
+    public SeatAvailabilityBroadcaster(EventRepository eventRepository,
+                                       StringRedisTemplate redisTemplate,
+                                       ObjectMapper objectMapper,
+                                       RedisMessageListenerContainer listenerContainer,
+                                       @Value("${events.availability.stream-timeout:30m}") Duration timeout) {
+        this.eventRepository = eventRepository;
+        this.channel = new SseChannel<>(CHANNEL, SeatAvailabilityResponse.class,
+                availability -> List.of(availability.getEventId()), availability -> EVENT_NAME,
+                timeout, redisTemplate, objectMapper, listenerContainer);
+    }
+
+    public SseEmitter subscribe(SeatAvailabilityResponse snapshot) {
+        return channel.subscribe(snapshot.getEventId(),
+                SseEmitter.event().name(EVENT_NAME).data(snapshot, MediaType.APPLICATION_JSON));
+    }
+
+    public void markChanged(UUID eventId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dirtyEventIds.add(eventId);
+                }
+            });
+        } else {
+            dirtyEventIds.add(eventId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${events.availability.flush-interval-ms:500}")
+    public void flush() {
+        if (dirtyEventIds.isEmpty()) {
+            return;
+        }
+
+        List<UUID> eventIds = new ArrayList<>();
+        for (UUID eventId : dirtyEventIds) {
+            // Removed one by one so a change marked during the flush is kept for the next round
+            if (dirtyEventIds.remove(eventId)) {
+                eventIds.add(eventId);
+            }
+        }
+
+        for (int from = 0; from < eventIds.size(); from += FLUSH_BATCH_SIZE) {
+            List<UUID> batch = eventIds.subList(from, Math.min(from + FLUSH_BATCH_SIZE, eventIds.size()));
+            Set<UUID> deleted = new HashSet<>(batch);
+            for (SeatAvailabilityResponse availability : eventRepository.findSeatAvailabilityByIdIn(batch)) {
+                deleted.remove(availability.getEventId());
+                channel.publish(availability);
+            }
+            deleted.forEach(channel::close);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${events.availability.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        channel.heartbeat();
+    }
+}
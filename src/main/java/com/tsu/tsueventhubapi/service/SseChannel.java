@@ -0,0 +1,175 @@
+package com.tsu.tsueventhubapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * SSE subscribers fed from one Redis channel. Subscribers register under a key, and every published message is
+ * sent to the keys it is routed to. Each node publishes to the channel and delivers what it receives from it to
+ * its own subscribers, so a message published on one node reaches clients connected to any other.
+ */
+@Slf4j
+class SseChannel<M> {
+
+    // Messages are JSON objects, so a close request can share the channel without being mistaken for one
+    private static final String CLOSE_PREFIX = "close:";
+
+    private final String channel;
+    private final Class<M> type;
+    private final Function<M, Collection<UUID>> recipients;
+    private final Function<M, String> eventName;
+    private final Duration timeout;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Map<UUID, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    SseChannel(String channel,
+               Class<M> type,
+               Function<M, Collection<UUID>> recipients,
+               Function<M, String> eventName,
+               Duration timeout,
+               StringRedisTemplate redisTemplate,
+               ObjectMapper objectMapper,
+               RedisMessageListenerContainer listenerContainer) {
+        this.channel = channel;
+        this.type = type;
+        this.recipients = recipients;
+        this.eventName = eventName;
+        this.timeout = timeout;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+
+        listenerContainer.addMessageListener(
+                (message, pattern) -> receive(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(channel));
+    }
+
+    /**
+     * Opens a stream under {@code key}. The first event is sent right away, which also flushes the response
+     * headers so the client sees the stream as open before the first message.
+     */
+    SseEmitter subscribe(UUID key, SseEmitter.SseEventBuilder firstEvent) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        subscribers.compute(key, (k, emitters) -> {
+            Set<SseEmitter> current = emitters != null ? emitters : ConcurrentHashMap.newKeySet();
+            current.add(emitter);
+            return current;
+        });
+        emitter.onCompletion(() -> unsubscribe(key, emitter));
+        emitter.onTimeout(() -> unsubscribe(key, emitter));
+        emitter.onError(e -> unsubscribe(key, emitter));
+
+        send(key, emitter, firstEvent);
+        return emitter;
+    }
+
+    void publish(M message) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+        broadcast(json);
+    }
+
+    // Completes every stream under the key, on all nodes
+    void close(UUID key) {
+        broadcast(CLOSE_PREFIX + key);
+    }
+
+    // Keeps idle connections from being closed by proxies and detects clients that went away
+    void heartbeat() {
+        subscribers.forEach((key, emitters) -> {
+            for (SseEmitter emitter : emitters) {
+                send(key, emitter, SseEmitter.event().comment("heartbeat"));
+            }
+        });
+    }
+
+    private void broadcast(String payload) {
+        try {
+            redisTemplate.convertAndSend(channel, payload);
+        } catch (DataAccessException e) {
+            // Without Redis only this node's subscribers are notified
+            receive(payload);
+        }
+    }
+
+    private void receive(String payload) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        if (payload.startsWith(CLOSE_PREFIX)) {
+            completeLocal(payload.substring(CLOSE_PREFIX.length()));
+            return;
+        }
+
+        M message;
+        try {
+            message = objectMapper.readValue(payload, type);
+        } catch (JsonProcessingException e) {
+            log.warn("Dropping unreadable message on {}", channel, e);
+            return;
+        }
+
+        for (UUID key : recipients.apply(message)) {
+            Set<SseEmitter> emitters = subscribers.get(key);
+            if (emitters != null) {
+                for (SseEmitter emitter : emitters) {
+                    // A builder is consumed by one send, so each emitter gets its own
+                    send(key, emitter, SseEmitter.event()
+                            .name(eventName.apply(message))
+                            .data(message, MediaType.APPLICATION_JSON));
+                }
+            }
+        }
+    }
+
+    private void completeLocal(String key) {
+        Set<SseEmitter> emitters;
+        try {
+            emitters = subscribers.remove(UUID.fromString(key));
+        } catch (IllegalArgumentException e) {
+            log.warn("Dropping close request with invalid key on {}", channel);
+            return;
+        }
+        if (emitters != null) {
+            emitters.forEach(SseEmitter::complete);
+        }
+    }
+
+    private void send(UUID key, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            unsubscribe(key, emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void unsubscribe(UUID key, SseEmitter emitter) {
+        subscribers.computeIfPresent(key, (k, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+}
@@ -0,0 +1,113 @@
+package com.tsu.tsueventhubapi.service;
+
+import com.tsu.tsueventhubapi.dto.WaitlistPositionResponse;
+import com.tsu.tsueventhubapi.dto.WaitlistResponse;
+import com.tsu.tsueventhubapi.enumeration.WaitlistStatus;
+import com.tsu.tsueventhubapi.exception.ConflictException;
+import com.tsu.tsueventhubapi.exception.ResourceNotFoundException;
+import com.tsu.tsueventhubapi.model.Event;
+import com.tsu.tsueventhubapi.model.WaitlistEntry;
+import com.tsu.tsueventhubapi.repository.EventRepository;
+import com.tsu.tsueventhubapi.repository.RegistrationRepository;
+import com.tsu.tsueventhubapi.repository.WaitlistEntryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class WaitlistService {
+
+    private final EventRepository eventRepository;
+    private final RegistrationRepository registrationRepository;
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final EventCache eventCache;
+    private final SeatAvailabilityBroadcaster seatAvailabilityBroadcaster;
+
+    @Transactional
+    public WaitlistResponse join(UUID eventId, UUID studentId) {
+        Instant now = Instant.now();
+
+        // The registration row is taken before the event row, in the same order as EventService.registerStudent,
+        // so a student registering and joining at the same time cannot deadlock
+        int registered;
+        try {
+            registered = registrationRepository.upsertActiveRegistration(studentId, eventId, now);
+        } catch (DataIntegrityViolationException e) {
+            throw new ResourceNotFoundException("Event not found");
+        }
+        if (registered == 0) {
+            throw new ConflictException("Student is already registered");
+        }
+
+        // Holding the event row serializes joins with seat releases, so nobody queues behind a free seat
+        Event event = eventRepository.findLockedById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found"));
+        if (event.getRegistrationDeadline() != null && now.isAfter(event.getRegistrationDeadline())) {
+            throw new IllegalStateException("Registration deadline has passed");
+        }
+        if (event.getEndTime() != null && now.isAfter(event.getEndTime())) {
+            throw new IllegalStateException("Event has already ended");
+        }
+
+        if (eventRepository.reserveSeat(eventId, now) == 1) {
+            eventCache.evictDetail(eventId);
+            seatAvailabilityBroadcaster.markChanged(eventId);
+            return new WaitlistResponse(eventId, WaitlistStatus.REGISTERED, null);
+        }
+
+        // The event is full, so the registration taken above is given back and the student is queued instead
+        registrationRepository.markUnregistered(studentId, eventId, now);
+        if (waitlistEntryRepository.enqueue(studentId, eventId, now) == 0) {
+            throw new ConflictException("Student is already on the waitlist");
+        }
+        return new WaitlistResponse(eventId, WaitlistStatus.WAITLISTED,
+                waitlistEntryRepository.findPosition(studentId, eventId));
+    }
+
+    @Transactional
+    public void leave(UUID eventId, UUID studentId) {
+        if (waitlistEntryRepository.deleteByStudentIdAndEventId(studentId, eventId) == 0) {
+            throw new IllegalArgumentException("You are not on the waitlist for this event");
+        }
+    }
+
+    public Page<WaitlistPositionResponse> getStudentWaitlist(UUID studentId, int page, int size) {
+        return waitlistEntryRepository.findPositionsByStudentId(studentId, PageRequest.of(page, size));
+    }
+
+    @Transactional
+    public int fillFreeSeats(UUID eventId, Instant now) {
+        int promoted = 0;
+        while (eventRepository.occupyFreeSeat(eventId) == 1) {
+            if (!promoteHead(eventId, now)) {
+                eventRepository.releaseSeat(eventId);
+                break;
+            }
+            promoted++;
+        }
+        return promoted;
+    }
+
+    private boolean promoteHead(UUID eventId, Instant now) {
+        while (true) {
+            Optional<WaitlistEntry> head = waitlistEntryRepository.findFirstByEventIdOrderByQueuePositionAsc(eventId);
+            if (head.isEmpty()) {
+                return false;
+            }
+
+            UUID studentId = head.get().getStudent().getId();
+            waitlistEntryRepository.deleteByStudentIdAndEventId(studentId, eventId);
+            if (registrationRepository.upsertActiveRegistration(studentId, eventId, now) == 1) {
+                return true;
+            }
+        }
+    }
+}
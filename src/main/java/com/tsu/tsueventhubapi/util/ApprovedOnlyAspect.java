@@ -1,12 +1,8 @@
 package com.tsu.tsueventhubapi.util;
 
 import com.tsu.tsueventhubapi.exception.ForbiddenException;
-import com.tsu.tsueventhubapi.exception.ResourceNotFoundException;
 import com.tsu.tsueventhubapi.exception.UnauthorizedException;
-import com.tsu.tsueventhubapi.model.User;
-import com.tsu.tsueventhubapi.repository.UserRepository;
 import com.tsu.tsueventhubapi.security.UserDetailsImpl;
-import lombok.RequiredArgsConstructor;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
 import org.springframework.security.core.Authentication;
@@ -15,11 +11,8 @@ import org.springframework.stereotype.Component;
 
 @Aspect
 @Component
-@RequiredArgsConstructor
 public class ApprovedOnlyAspect {
 
-    private final UserRepository userRepository;
-
     @Before("@within(approvedOnly) || @annotation(approvedOnly)")
     public void checkApprovedStatus(ApprovedOnly approvedOnly) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
@@ -27,10 +20,7 @@ public class ApprovedOnlyAspect {
             throw new UnauthorizedException("Unauthorized");
         }
 
-        User currentUser = userRepository.findById(details.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        if (!"APPROVED".equals(currentUser.getStatus().name())) {
+        if (!details.isApproved()) {
             throw new ForbiddenException("Only approved users can access this resource");
         }
     }
@@ -0,0 +1,49 @@
+package com.tsu.tsueventhubapi.util;
+
+import com.tsu.tsueventhubapi.dto.ResourceVersion;
+import com.tsu.tsueventhubapi.dto.Versioned;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+public final class ConditionalGet {
+
+    // Lets clients store the response but makes them revalidate it on every use; responses are per user
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalGet() {
+    }
+
+    /**
+     * Answers 304 when the client's copy matches {@code version}; only otherwise loads and serializes the body.
+     * ETag and Last-Modified headers are set on both responses.
+     */
+    public static <T> ResponseEntity<T> respond(WebRequest request, ResourceVersion version, Supplier<T> body) {
+        if (request.checkNotModified(version.getEtag(), version.getLastModified().toEpochMilli())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(body.get());
+    }
+
+    /**
+     * Like {@link #respond(WebRequest, ResourceVersion, Supplier)} for bodies served from a cache: the loader gets
+     * the checked version, and the body goes out with the validators of the state it was actually built from.
+     */
+    public static <T> ResponseEntity<T> respond(WebRequest request, ResourceVersion version,
+                                                Function<ResourceVersion, Versioned<T>> loader) {
+        if (request.checkNotModified(version.getEtag(), version.getLastModified().toEpochMilli())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+        }
+
+        Versioned<T> loaded = loader.apply(version);
+        return ResponseEntity.ok()
+                .cacheControl(REVALIDATE)
+                .eTag(loaded.version().getEtag())
+                .lastModified(loaded.version().getLastModified())
+                .body(loaded.body());
+    }
+}
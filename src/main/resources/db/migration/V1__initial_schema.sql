@@ -0,0 +1,53 @@
+create table if not exists companies (
+    id   uuid         not null primary key,
+    name varchar(255) not null unique
+);
+
+create table if not exists users (
+    id                uuid         not null primary key,
+    telegram_username varchar(255),
+    name              varchar(255) not null,
+    email             varchar(255) not null unique,
+    password          varchar(60)  not null,
+    role              varchar(255) not null,
+    status            varchar(255) not null,
+    company_id        uuid references companies (id),
+    deleted_at        timestamp(6) with time zone
+);
+
+create table if not exists google_accounts (
+    id            uuid         not null primary key,
+    google_email  varchar(255) not null unique,
+    access_token  text         not null,
+    refresh_token text         not null,
+    user_id       uuid         not null unique references users (id)
+);
+
+create table if not exists events (
+    id                    uuid                        not null primary key,
+    title                 varchar(255)                not null,
+    description           text,
+    start_time            timestamp(6) with time zone not null,
+    end_time              timestamp(6) with time zone,
+    location              varchar(255)                not null,
+    registration_deadline timestamp(6) with time zone,
+    manager_id            uuid                        not null references users (id),
+    company_id            uuid                        not null references companies (id)
+);
+
+create table if not exists registrations (
+    id              uuid                        not null primary key,
+    student_id      uuid                        not null references users (id),
+    event_id        uuid                        not null references events (id),
+    registered_at   timestamp(6) with time zone not null,
+    unregistered_at timestamp(6) with time zone,
+    unique (student_id, event_id)
+);
+
+create table if not exists approval_requests (
+    id               uuid    not null primary key,
+    user_id          uuid    not null unique references users (id),
+    created_at       timestamp(6) with time zone,
+    processed        boolean not null,
+    rejection_reason varchar(255)
+);
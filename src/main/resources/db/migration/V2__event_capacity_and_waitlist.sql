@@ -0,0 +1,15 @@
+alter table events add column if not exists capacity integer;
+alter table events add column if not exists registered_count integer not null default 0;
+
+update events e set registered_count = (select count(*) from registrations r where r.event_id = e.id and r.unregistered_at is null);
+
+create table if not exists waitlist_entries (
+    id             uuid                        not null primary key,
+    student_id     uuid                        not null references users (id),
+    event_id       uuid                        not null references events (id) on delete cascade,
+    queue_position bigint generated by default as identity,
+    joined_at      timestamp(6) with time zone not null,
+    unique (student_id, event_id)
+);
+
+create index if not exists idx_waitlist_entries_event_queue_position on waitlist_entries (event_id, queue_position);
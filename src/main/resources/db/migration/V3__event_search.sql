@@ -0,0 +1,11 @@
+create extension if not exists pg_trgm;
+
+alter table events add column if not exists search_vector tsvector generated always as (
+    setweight(to_tsvector('russian', coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('russian', coalesce(location, '')), 'B') ||
+    setweight(to_tsvector('russian', coalesce(description, '')), 'C')
+) stored;
+
+create index if not exists idx_events_search_vector on events using gin (search_vector);
+
+create index if not exists idx_events_title_trgm on events using gin (title gin_trgm_ops);
@@ -0,0 +1,16 @@
+-- Event feeds, keyset pages and filters: ordered by (start_time, id), optionally within one company
+create index if not exists idx_events_start_time_id on events (start_time, id);
+create index if not exists idx_events_company_start_time_id on events (company_id, start_time, id);
+
+-- Active attendees of an event (paged list and export, ordered by registration time)
+create index if not exists idx_registrations_event_active
+    on registrations (event_id, registered_at, id) where unregistered_at is null;
+
+-- Active registrations of a student (/profile/events)
+create index if not exists idx_registrations_student_active
+    on registrations (student_id) where unregistered_at is null;
+
+-- Pending approval queue, with the company filter resolved through users.company_id
+create index if not exists idx_approval_requests_pending
+    on approval_requests (created_at, id) where processed = false;
+create index if not exists idx_users_company_id on users (company_id);
@@ -0,0 +1,2 @@
+-- Hashes are stored with a {bcrypt} encoder prefix, so the column must outgrow the bare 60-character BCrypt length
+alter table users alter column password type varchar(100);
@@ -0,0 +1,3 @@
+-- The approval queue pages by (created_at, id); rows without a timestamp predate the queue and go first
+update approval_requests set created_at = timestamptz 'epoch' where created_at is null;
+alter table approval_requests alter column created_at set not null;
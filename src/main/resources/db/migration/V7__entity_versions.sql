@@ -0,0 +1,9 @@
+-- Optimistic-lock versions and modification times; conditional GETs derive ETag and Last-Modified from them
+alter table events add column version bigint not null default 0;
+alter table events add column updated_at timestamptz not null default now();
+
+alter table companies add column version bigint not null default 0;
+alter table companies add column updated_at timestamptz not null default now();
+
+alter table users add column version bigint not null default 0;
+alter table users add column updated_at timestamptz not null default now();
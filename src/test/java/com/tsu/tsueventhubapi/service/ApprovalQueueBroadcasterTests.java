@@ -0,0 +1,90 @@
+package com.tsu.tsueventhubapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tsu.tsueventhubapi.config.JacksonConfig;
+import com.tsu.tsueventhubapi.dto.ApprovalQueueEvent;
+import com.tsu.tsueventhubapi.dto.PendingUserResponse;
+import com.tsu.tsueventhubapi.enumeration.ApprovalQueueEventType;
+import com.tsu.tsueventhubapi.enumeration.Role;
+import com.tsu.tsueventhubapi.security.UserDetailsImpl;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.MockedConstruction;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.Topic;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockConstruction;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class ApprovalQueueBroadcasterTests {
+
+    @Test
+    void createdEventReachesSubscriberThroughRedis() throws Exception {
+        // Configured like the application's mapper, so a DTO Jackson cannot construct fails here as well
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        new JacksonConfig().jsonCustomizer().customize(builder);
+        ObjectMapper objectMapper = builder.build();
+
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        RedisMessageListenerContainer listenerContainer = mock(RedisMessageListenerContainer.class);
+
+        try (MockedConstruction<SseEmitter> emitters = mockConstruction(SseEmitter.class)) {
+            ApprovalQueueBroadcaster broadcaster = new ApprovalQueueBroadcaster(
+                    redisTemplate, objectMapper, listenerContainer, Duration.ofMinutes(1));
+
+            ArgumentCaptor<MessageListener> listener = ArgumentCaptor.forClass(MessageListener.class);
+            verify(listenerContainer).addMessageListener(listener.capture(), any(Topic.class));
+            doAnswer(invocation -> {
+                String channel = invocation.getArgument(0);
+                String message = invocation.getArgument(1);
+                listener.getValue().onMessage(new DefaultMessage(
+                        channel.getBytes(StandardCharsets.UTF_8),
+                        message.getBytes(StandardCharsets.UTF_8)), null);
+                return 1L;
+            }).when(redisTemplate).convertAndSend(anyString(), any());
+
+            broadcaster.subscribe(dean());
+            SseEmitter emitter = emitters.constructed().getFirst();
+
+            PendingUserResponse request = new PendingUserResponse(UUID.randomUUID(), "Student", "student@example.com",
+                    Role.STUDENT, "@student", null, Instant.now());
+            broadcaster.publishCreated(request, null);
+
+            // The first send is the "connected" comment
+            ArgumentCaptor<SseEmitter.SseEventBuilder> sent = ArgumentCaptor.forClass(SseEmitter.SseEventBuilder.class);
+            verify(emitter, times(2)).send(sent.capture());
+            ApprovalQueueEvent delivered = sent.getAllValues().getLast().build().stream()
+                    .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                    .filter(ApprovalQueueEvent.class::isInstance)
+                    .map(ApprovalQueueEvent.class::cast)
+                    .findFirst()
+                    .orElseThrow();
+
+            assertThat(delivered.getType()).isEqualTo(ApprovalQueueEventType.CREATED);
+            assertThat(delivered.getRequest()).isEqualTo(request);
+        }
+    }
+
+    private static UserDetailsImpl dean() {
+        return new UserDetailsImpl(UUID.randomUUID(), "dean@example.com", null, List.of(),
+                Role.DEAN, null, null);
+    }
+}
@@ -0,0 +1,131 @@
+package com.tsu.tsueventhubapi.service;
+
+import com.tsu.tsueventhubapi.dto.EventFilter;
+import com.tsu.tsueventhubapi.enumeration.Role;
+import com.tsu.tsueventhubapi.enumeration.Status;
+import com.tsu.tsueventhubapi.model.Company;
+import com.tsu.tsueventhubapi.model.Event;
+import com.tsu.tsueventhubapi.model.Registration;
+import com.tsu.tsueventhubapi.model.User;
+import com.tsu.tsueventhubapi.repository.CompanyRepository;
+import com.tsu.tsueventhubapi.repository.EventRepository;
+import com.tsu.tsueventhubapi.repository.RegistrationRepository;
+import com.tsu.tsueventhubapi.repository.UserRepository;
+import com.tsu.tsueventhubapi.security.UserDetailsImpl;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class EventSummaryQueryCountTests {
+
+    private static final int EVENT_COUNT = 30;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private ProfileService profileService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User manager;
+    private User student;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Company company = companyRepository.save(Company.builder()
+                .name("Company " + UUID.randomUUID())
+                .build());
+        manager = userRepository.save(user(Role.MANAGER, company));
+        student = userRepository.save(user(Role.STUDENT, null));
+
+        Instant start = Instant.now().plus(7, ChronoUnit.DAYS);
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            Event event = eventRepository.save(Event.builder()
+                    .title("Event " + i)
+                    .startTime(start.plus(i, ChronoUnit.HOURS))
+                    .location("Room " + i)
+                    .manager(manager)
+                    .company(company)
+                    .build());
+            registrationRepository.save(Registration.builder()
+                    .student(student)
+                    .event(event)
+                    .registeredAt(Instant.now())
+                    .build());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void eventPageCostsSameNumberOfStatementsRegardlessOfSize() {
+        UserDetailsImpl principal = UserDetailsImpl.fromUser(manager);
+
+        long smallPage = countStatements(() -> eventService.getAllEvents(principal, new EventFilter(), 0, 5));
+        long largePage = countStatements(() -> eventService.getAllEvents(principal, new EventFilter(), 0, 25));
+
+        assertThat(smallPage).isEqualTo(largePage).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void studentEventPageCostsSameNumberOfStatementsRegardlessOfSize() {
+        long smallPage = countStatements(() -> profileService.getStudentEvents(student.getId(), 0, 5));
+        long largePage = countStatements(() -> profileService.getStudentEvents(student.getId(), 0, 25));
+
+        assertThat(smallPage).isEqualTo(largePage).isLessThanOrEqualTo(3);
+    }
+
+    private long countStatements(Runnable action) {
+        entityManager.clear();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private static User user(Role role, Company company) {
+        return User.builder()
+                .name(role.name())
+                .email(UUID.randomUUID() + "@example.com")
+                .password("password")
+                .role(role)
+                .status(Status.APPROVED)
+                .company(company)
+                .build();
+    }
+}